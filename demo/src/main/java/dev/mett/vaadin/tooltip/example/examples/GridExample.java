@@ -1,9 +1,8 @@
 package dev.mett.vaadin.tooltip.example.examples;
 
 import com.vaadin.flow.component.grid.Grid;
-import com.vaadin.flow.component.html.Span;
 import com.vaadin.flow.data.provider.ListDataProvider;
-import dev.mett.vaadin.tooltip.Tooltips;
+import dev.mett.vaadin.tooltip.GridTooltips;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -12,8 +11,6 @@ import lombok.Data;
 public class GridExample {
 
   public Grid<GridData> exampleGrid() {
-    Tooltips tt = Tooltips.getCurrent();
-
     List<GridData> data = new ArrayList<>();
     for (int i = 0; i < 999; i++) {
       int random = new Random().nextInt(i + 1);
@@ -24,11 +21,8 @@ public class GridExample {
 
     Grid<GridData> grid = new Grid<>();
     grid.removeAllColumns();
-    grid.addComponentColumn(entry -> {
-      Span key = new Span(entry.getKey());
-      tt.setTooltip(key, "Tooltip of " + key.getText());
-      return key;
-    }).setHeader("Key");
+    Grid.Column<GridData> keyColumn = grid.addColumn(GridData::getKey).setHeader("Key");
+    GridTooltips.forColumn(keyColumn, entry -> "Tooltip of " + entry.getKey());
     grid.addColumn(GridData::getRandom).setHeader("Value");
     grid.setItems(dataProvider);
 
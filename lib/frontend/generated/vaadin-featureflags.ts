@@ -0,0 +1,6 @@
+// @ts-nocheck
+window.Vaadin = window.Vaadin || {};
+window.Vaadin.featureFlags = window.Vaadin.featureFlags || {};
+window.Vaadin.featureFlags.exampleFeatureFlag = false;
+window.Vaadin.featureFlags.viteForFrontendBuild = false;
+window.Vaadin.featureFlags.mapComponent = false;
\ No newline at end of file
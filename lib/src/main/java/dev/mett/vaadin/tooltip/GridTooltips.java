@@ -0,0 +1,183 @@
+package dev.mett.vaadin.tooltip;
+
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.function.ValueProvider;
+import com.vaadin.flow.shared.Registration;
+import dev.mett.vaadin.tooltip.Tooltips.JS_METHODS;
+import dev.mett.vaadin.tooltip.config.ImmutableTooltipConfiguration;
+import dev.mett.vaadin.tooltip.config.TooltipConfiguration;
+import dev.mett.vaadin.tooltip.util.TooltipsUtil;
+import elemental.json.JsonObject;
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Defines tooltips for the cells of {@link Grid} columns.<br> The tooltip texts are sent along with the items of the grid, while a
+ * single (delegating) tippy instance on the grid displays them. Hence no server side state is required per cell and virtual
+ * scrolling does not recreate any tooltip.<br>
+ * <br>
+ * Usage:<code><br>
+ * <br>
+ * Grid.Column&lt;Person&gt; nameColumn = grid.addColumn(Person::getName);<br> GridTooltips.forColumn(nameColumn,
+ * Person::getDescription);<br>
+ * </code>
+ *
+ * @param <T> the type of the grids items
+ * @author Gerrit Sedlaczek
+ */
+public final class GridTooltips<T> implements Serializable {
+
+  private static final long serialVersionUID = -1791187406357405916L;
+  private static final Logger log = Logger.getLogger(GridTooltips.class.getName());
+
+  private static final String COLUMN_TAG_NAME = "tt4v-tooltip";
+  private static final String ITEM_KEY_PREFIX = "tt4v";
+
+  private static final AtomicLong itemKeyGenerator = new AtomicLong();
+
+  /**
+   * Defines the tooltips of a column.<br> Cells without a tooltip text ({@code null} or empty) do not show a tooltip.
+   *
+   * @param column          the {@link Grid.Column} whose cells are supposed to have tooltips
+   * @param tooltipProvider provides the tooltip text of an item
+   * @param <T>             the type of the grids items
+   * @return {@link Registration} which removes the tooltips from the column
+   */
+  public static <T> Registration forColumn(Grid.Column<T> column, ValueProvider<T, String> tooltipProvider) {
+    if (column == null || tooltipProvider == null) {
+      throw new IllegalArgumentException("Tooltips4Vaadin requires a non null column and tooltip provider");
+    }
+
+    return forGrid(gridOf(column)).addColumn(column, tooltipProvider);
+  }
+
+  /**
+   * A column belongs to a grid of the same item type.
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> Grid<T> gridOf(Grid.Column<T> column) {
+    return (Grid<T>) column.getGrid();
+  }
+
+  /**
+   * Returns the grid tooltips of a {@link Grid} and creates them if necessary.
+   *
+   * @param grid {@link Grid}
+   * @param <T>  the type of the grids items
+   * @return {@link GridTooltips}
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> GridTooltips<T> forGrid(Grid<T> grid) {
+    GridTooltips<T> gridTooltips = ComponentUtil.getData(grid, GridTooltips.class);
+
+    if (gridTooltips == null) {
+      gridTooltips = new GridTooltips<>(grid);
+      ComponentUtil.setData(grid, GridTooltips.class, gridTooltips);
+    }
+
+    return gridTooltips;
+  }
+
+  private final Grid<T> grid;
+  /**
+   * The tooltip providers by the item key their texts are sent as.
+   */
+  private final Map<String, ValueProvider<T, String>> tooltipProviders = new LinkedHashMap<>();
+  private ImmutableTooltipConfiguration configuration;
+  private boolean registrationScheduled = false;
+
+  private GridTooltips(Grid<T> grid) {
+    this.grid = grid;
+
+    grid.addDataGenerator(this::generateTooltips);
+    grid.addAttachListener(evt -> scheduleRegistration());
+    scheduleRegistration();
+  }
+
+  /**
+   * Defines the configuration used by the tooltips of all columns of the grid (default: the default configuration of
+   * {@link Tooltips}). Its content gets ignored.
+   *
+   * @param configuration {@link TooltipConfiguration}
+   */
+  public void setConfiguration(TooltipConfiguration configuration) {
+    this.configuration = configuration != null
+        ? ImmutableTooltipConfiguration.of(configuration)
+        : null;
+
+    grid.getDataCommunicator().reset();
+    scheduleRegistration();
+  }
+
+  private Registration addColumn(Grid.Column<T> column, ValueProvider<T, String> tooltipProvider) {
+    String itemKey = ITEM_KEY_PREFIX + itemKeyGenerator.incrementAndGet();
+
+    String previousItemKey = column.getElement().getAttribute(COLUMN_TAG_NAME);
+    if (previousItemKey != null) {
+      tooltipProviders.remove(previousItemKey);
+    }
+
+    tooltipProviders.put(itemKey, tooltipProvider);
+    column.getElement().setAttribute(COLUMN_TAG_NAME, itemKey);
+    grid.getDataCommunicator().reset();
+
+    return () -> {
+      if (tooltipProviders.remove(itemKey) != null) {
+        column.getElement().removeAttribute(COLUMN_TAG_NAME);
+        grid.getDataCommunicator().reset();
+      }
+    };
+  }
+
+  void generateTooltips(T item, JsonObject itemJson) {
+    TooltipConfiguration config = getConfiguration();
+
+    tooltipProviders.forEach((itemKey, tooltipProvider) -> {
+      String tooltip = tooltipProvider.apply(item);
+      if (tooltip != null && !tooltip.isEmpty()) {
+        itemJson.put(itemKey, config.getContentTransformer().transform(tooltip));
+      }
+    });
+  }
+
+  private TooltipConfiguration getConfiguration() {
+    return configuration != null
+        ? configuration
+        : Tooltips.getDefaultTooltipConfiguration();
+  }
+
+  /**
+   * (Re-)Creates the delegating tippy instance once per round-trip.
+   */
+  private void scheduleRegistration() {
+    UI ui = grid.getUI().orElse(null);
+
+    if (ui != null && !registrationScheduled) {
+      registrationScheduled = true;
+
+      TooltipsUtil.securelyAccessUI(ui, () -> {
+        // adds the frontend part of this library to the UI if no tooltip did so yet
+        Tooltips.get(ui);
+
+        ui.beforeClientResponse(ui, context -> {
+          registrationScheduled = false;
+          // registered again upon the next attach
+          if (!grid.getElement().getNode().isAttached()) {
+            return;
+          }
+
+          ui.getPage()
+              .executeJs(JS_METHODS.ENABLE_GRID_TOOLTIPS, grid.getElement(), getConfiguration().toJsonObject())
+              .then(
+                  nothing -> { /* no action required */ },
+                  err -> log.warning(() -> "Tooltips: js error: " + err));
+        });
+      });
+    }
+  }
+}
@@ -0,0 +1,62 @@
+package dev.mett.vaadin.tooltip;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.dom.Element;
+
+/**
+ * Declares tooltips by attributes of their elements instead of registering them using JavaScript.<br> The attributes are
+ * transferred along with all other changes of the round-trip, the frontend observes them and creates / updates / destroys the
+ * tippy instances accordingly.<br>
+ * <br>
+ * The configurations (without content) are transferred once per {@link com.vaadin.flow.component.UI}, the elements only refer to
+ * them by a random key. Elements referring to an unknown key are ignored.<br>
+ * <br>
+ * Tooltips whose content is fetched lazily or which belong to a group are still registered using JavaScript.
+ *
+ * @author Gerrit Sedlaczek
+ * @see Tooltips#setDeclarative(boolean)
+ */
+final class TooltipDeclaration {
+
+  static final String CONTENT_ATTRIBUTE = "data-tt4v-content";
+  static final String CONFIG_ATTRIBUTE = "data-tt4v-config";
+
+  private TooltipDeclaration() {
+  }
+
+  /**
+   * @param state {@link TooltipStateData}
+   * @return true if the tooltip can be declared by attributes
+   */
+  static boolean accepts(TooltipStateData state) {
+    return state.getContentProvider() == null
+        && state.getGroup() == null;
+  }
+
+  /**
+   * Writes (or updates) the attributes of the tooltip.
+   *
+   * @param component the {@link Component} that has the tooltip
+   * @param state     {@link TooltipStateData}
+   * @param configKey the key of the configuration (without content) known to the frontend
+   */
+  static void apply(Component component, TooltipStateData state, String configKey) {
+    Tooltips.ensureTagIsSet(state);
+
+    // unchanged values are not transferred again
+    Element element = component.getElement();
+    element.setAttribute(CONFIG_ATTRIBUTE, configKey);
+    element.setAttribute(CONTENT_ATTRIBUTE, state.getTooltipConfig().getRenderedContent());
+    state.setDeclared(true);
+  }
+
+  /**
+   * Removes the attributes of the tooltip, which destroys its tippy instance.
+   *
+   * @param element the {@link Element} that had the tooltip
+   */
+  static void clear(Element element) {
+    element.removeAttribute(CONFIG_ATTRIBUTE);
+    element.removeAttribute(CONTENT_ATTRIBUTE);
+  }
+}
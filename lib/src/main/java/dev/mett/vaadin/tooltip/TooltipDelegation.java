@@ -0,0 +1,168 @@
+package dev.mett.vaadin.tooltip;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.shared.Registration;
+import dev.mett.vaadin.tooltip.Tooltips.JS_METHODS;
+import dev.mett.vaadin.tooltip.config.ImmutableTooltipConfiguration;
+import dev.mett.vaadin.tooltip.config.TooltipConfiguration;
+import dev.mett.vaadin.tooltip.util.TooltipsUtil;
+import elemental.json.JsonObject;
+import java.io.Serializable;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+/**
+ * A container whose tooltips are displayed by a single (delegating) tippy instance.<br> Tooltips within the container that use
+ * the same configuration as the container (apart from their content) are not registered with tippy individually. Their elements
+ * only carry their content as an attribute instead.
+ *
+ * @author Gerrit Sedlaczek
+ * @see Tooltips#enableDelegation(com.vaadin.flow.component.HasComponents)
+ */
+class TooltipDelegation implements Serializable {
+
+  private static final long serialVersionUID = 5229717716424807208L;
+  private static final Logger log = Logger.getLogger(TooltipDelegation.class.getName());
+
+  static final String CONTENT_ATTRIBUTE = "tt4v-content";
+
+  private static final String CONTENT_KEY = "content";
+
+  /**
+   * Enables delegation for a container (replaces the configuration if it is enabled already).
+   *
+   * @param container     the container whose tooltips are supposed to be delegated
+   * @param configuration the configuration used by all delegated tooltips
+   */
+  static void enable(Component container, ImmutableTooltipConfiguration configuration) {
+    TooltipDelegation delegation = ComponentUtil.getData(container, TooltipDelegation.class);
+
+    if (delegation == null) {
+      delegation = new TooltipDelegation(container, configuration);
+      ComponentUtil.setData(container, TooltipDelegation.class, delegation);
+    } else {
+      delegation.configuration = configuration;
+      delegation.configurationWithoutContent = withoutContent(configuration);
+    }
+
+    delegation.scheduleRegistration();
+  }
+
+  /**
+   * Disables delegation for a container.
+   *
+   * @param container the container whose tooltips were delegated
+   * @return true if delegation was enabled
+   */
+  static boolean disable(Component container) {
+    TooltipDelegation delegation = ComponentUtil.getData(container, TooltipDelegation.class);
+    if (delegation == null) {
+      return false;
+    }
+
+    ComponentUtil.setData(container, TooltipDelegation.class, null);
+    delegation.attachReg.remove();
+
+    container.getUI().ifPresent(ui -> TooltipsUtil.securelyAccessUI(ui, () ->
+        ui.getPage().executeJs(JS_METHODS.DISABLE_DELEGATION, container.getElement())));
+    return true;
+  }
+
+  /**
+   * Finds the closest container with delegation enabled.
+   *
+   * @param component {@link Component}
+   * @return the {@link TooltipDelegation} of the containing component (if any)
+   */
+  static Optional<TooltipDelegation> find(Component component) {
+    Optional<Component> parent = component.getParent();
+
+    while (parent.isPresent()) {
+      TooltipDelegation delegation = ComponentUtil.getData(parent.get(), TooltipDelegation.class);
+      if (delegation != null) {
+        return Optional.of(delegation);
+      }
+
+      parent = parent.get().getParent();
+    }
+
+    return Optional.empty();
+  }
+
+  private final Component container;
+  private final Registration attachReg;
+  private ImmutableTooltipConfiguration configuration;
+  private String configurationWithoutContent;
+  private boolean registrationScheduled = false;
+
+  private TooltipDelegation(Component container, ImmutableTooltipConfiguration configuration) {
+    this.container = container;
+    this.configuration = configuration;
+    this.configurationWithoutContent = withoutContent(configuration);
+
+    attachReg = container.addAttachListener(evt -> scheduleRegistration());
+  }
+
+  /**
+   * @param state {@link TooltipStateData}
+   * @return true if the tooltip uses the configuration of the container (apart from its content)
+   */
+  boolean accepts(TooltipStateData state) {
+    return state.getContentProvider() == null
+        && configurationWithoutContent.equals(withoutContent(state.getTooltipConfig()));
+  }
+
+  /**
+   * Hands the tooltip over to the delegating tippy instance.
+   *
+   * @param component the {@link Component} that has the tooltip
+   * @param state     {@link TooltipStateData}
+   */
+  void apply(Component component, TooltipStateData state) {
+    Tooltips.ensureTagIsSet(state);
+    component.getElement().setAttribute(CONTENT_ATTRIBUTE, state.getTooltipConfig().getRenderedContent());
+    state.setDelegated(true);
+  }
+
+  /**
+   * Tooltips whose configurations only differ in their content share the result (see: {@link TooltipDeclaration}).
+   *
+   * @param configuration {@link TooltipConfiguration}
+   * @return the JSON representation of the configuration without its content
+   */
+  static String withoutContent(TooltipConfiguration configuration) {
+    JsonObject json = configuration.toJsonObject();
+    json.remove(CONTENT_KEY);
+    return json.toJson();
+  }
+
+
+  /**
+   * (Re-)Creates the delegating tippy instance once per round-trip.
+   */
+  private void scheduleRegistration() {
+    UI ui = container.getUI().orElse(null);
+
+    if (ui != null && !registrationScheduled) {
+      registrationScheduled = true;
+
+      TooltipsUtil.securelyAccessUI(ui, () ->
+          ui.beforeClientResponse(ui, context -> {
+            registrationScheduled = false;
+            // registered again upon the next attach
+            if (!container.getElement().getNode().isAttached()
+                || ComponentUtil.getData(container, TooltipDelegation.class) != this) {
+              return;
+            }
+
+            ui.getPage()
+                .executeJs(JS_METHODS.ENABLE_DELEGATION, container.getElement(), configuration.toJsonObject())
+                .then(
+                    nothing -> { /* no action required */ },
+                    err -> log.warning(() -> "Tooltips: js error: " + err));
+          }));
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package dev.mett.vaadin.tooltip;
+
+import com.vaadin.flow.component.Component;
+import dev.mett.vaadin.tooltip.config.ImmutableTooltipConfiguration;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * A group of tooltips of which only one is shown at a time.<br> The group shares a single popper element which moves between its
+ * members (see: tippy's createSingleton).
+ *
+ * @author Gerrit Sedlaczek
+ * @see Tooltips#createGroup(Component...)
+ */
+public final class TooltipGroup implements Serializable {
+
+  private static final long serialVersionUID = -4302457815946407563L;
+
+  private static final AtomicLong groupIdGenerator = new AtomicLong();
+
+  private final long groupId = groupIdGenerator.incrementAndGet();
+  private final ImmutableTooltipConfiguration configuration;
+  private final List<TooltipStateData> members = new ArrayList<>();
+
+  TooltipGroup(ImmutableTooltipConfiguration configuration) {
+    this.configuration = configuration;
+  }
+
+  /**
+   * @return the {@link Component}s whose tooltips belong to this group
+   */
+  public List<Component> getMembers() {
+    return members.stream()
+        .map(state -> state.getComponent().get())
+        .filter(Objects::nonNull)
+        .collect(Collectors.toList());
+  }
+
+  long getGroupId() {
+    return groupId;
+  }
+
+  ImmutableTooltipConfiguration getConfiguration() {
+    return configuration;
+  }
+
+  List<TooltipStateData> getMemberStates() {
+    return members;
+  }
+
+  void addMember(TooltipStateData state) {
+    if (state.getGroup() != null) {
+      state.getGroup().removeMember(state);
+    }
+
+    members.add(state);
+    state.setGroup(this);
+  }
+
+  void removeMember(TooltipStateData state) {
+    members.remove(state);
+    if (state.getGroup() == this) {
+      state.setGroup(null);
+    }
+  }
+}
@@ -0,0 +1,200 @@
+package dev.mett.vaadin.tooltip;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The tooltips of a single {@link com.vaadin.flow.component.UI} by their tooltip id.<br> An open addressing hash map (linear
+ * probing) with primitive keys. The states belong to their components, hence they are only referenced weakly. Entries of states
+ * that got garbage collected are dropped upon lookup and resize.
+ *
+ * @author Gerrit Sedlaczek
+ */
+class TooltipRegistry implements Serializable {
+
+  private static final long serialVersionUID = -2518460217385346329L;
+
+  private static final int INITIAL_CAPACITY = 16;
+  /**
+   * Marks unused slots, tooltip ids start at 1.
+   */
+  private static final long EMPTY = 0L;
+
+  private transient long[] keys;
+  private transient WeakReference<TooltipStateData>[] values;
+  private transient int size;
+
+  TooltipRegistry() {
+    init(INITIAL_CAPACITY);
+  }
+
+  /**
+   * Adds a tooltip (replaces it if it is registered already).
+   *
+   * @param state {@link TooltipStateData}
+   */
+  void put(TooltipStateData state) {
+    long tooltipId = state.getTooltipId();
+    if (tooltipId == EMPTY) {
+      throw new IllegalArgumentException("Tooltips4Vaadin requires tooltip ids other than " + EMPTY);
+    }
+
+    int index = indexOf(tooltipId);
+
+    if (keys[index] == tooltipId) {
+      if (values[index].get() != state) {
+        values[index] = new WeakReference<>(state);
+      }
+      return;
+    }
+
+    // keeps the load factor below 0.5
+    if ((size + 1) * 2 > keys.length) {
+      resize();
+      index = indexOf(tooltipId);
+    }
+
+    keys[index] = tooltipId;
+    values[index] = new WeakReference<>(state);
+    size++;
+  }
+
+  /**
+   * @param tooltipId the id of the tooltip
+   * @return {@link TooltipStateData} ({@code null} if there is none)
+   */
+  TooltipStateData get(long tooltipId) {
+    if (tooltipId == EMPTY) {
+      return null;
+    }
+
+    int index = indexOf(tooltipId);
+    if (keys[index] != tooltipId) {
+      return null;
+    }
+
+    TooltipStateData state = values[index].get();
+    if (state == null) {
+      removeAt(index);
+    }
+    return state;
+  }
+
+  /**
+   * @param tooltipId the id of the tooltip
+   */
+  void remove(long tooltipId) {
+    if (tooltipId == EMPTY) {
+      return;
+    }
+
+    int index = indexOf(tooltipId);
+    if (keys[index] == tooltipId) {
+      removeAt(index);
+    }
+  }
+
+  /**
+   * @return a snapshot of all registered tooltips, which may be modified while iterating it
+   */
+  List<TooltipStateData> getAll() {
+    List<TooltipStateData> states = new ArrayList<>(size);
+    for (WeakReference<TooltipStateData> value : values) {
+      TooltipStateData state = value != null ? value.get() : null;
+      if (state != null) {
+        states.add(state);
+      }
+    }
+    return states;
+  }
+
+  void clear() {
+    init(INITIAL_CAPACITY);
+  }
+
+  @SuppressWarnings("unchecked")
+  private void init(int capacity) {
+    keys = new long[capacity];
+    values = new WeakReference[capacity];
+    size = 0;
+  }
+
+  private int indexOf(long tooltipId) {
+    int mask = keys.length - 1;
+    int index = slot(tooltipId);
+
+    // the table is never full
+    while (keys[index] != EMPTY && keys[index] != tooltipId) {
+      index = (index + 1) & mask;
+    }
+    return index;
+  }
+
+  private int slot(long tooltipId) {
+    // spreads consecutive ids across the table
+    return Long.hashCode(tooltipId * 0x9E3779B97F4A7C15L) & (keys.length - 1);
+  }
+
+  /**
+   * Shifts subsequent entries back instead of leaving tombstones.
+   */
+  private void removeAt(int index) {
+    int mask = keys.length - 1;
+    int hole = index;
+    int next = (hole + 1) & mask;
+
+    while (keys[next] != EMPTY) {
+      // an entry may fill the hole if the hole lies between its slot and its current position
+      if (((next - slot(keys[next])) & mask) >= ((next - hole) & mask)) {
+        keys[hole] = keys[next];
+        values[hole] = values[next];
+        hole = next;
+      }
+      next = (next + 1) & mask;
+    }
+
+    keys[hole] = EMPTY;
+    values[hole] = null;
+    size--;
+  }
+
+  /**
+   * Drops the entries of garbage collected states and grows the table if it is still half full.
+   */
+  private void resize() {
+    List<TooltipStateData> states = getAll();
+
+    int capacity = INITIAL_CAPACITY;
+    while ((states.size() + 1) * 2 > capacity) {
+      capacity <<= 1;
+    }
+
+    init(Math.max(capacity, keys.length));
+    states.forEach(this::put);
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+
+    List<TooltipStateData> states = getAll();
+    out.writeInt(states.size());
+    for (TooltipStateData state : states) {
+      out.writeObject(state);
+    }
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    init(INITIAL_CAPACITY);
+
+    int count = in.readInt();
+    for (int i = 0; i < count; i++) {
+      put((TooltipStateData) in.readObject());
+    }
+  }
+}
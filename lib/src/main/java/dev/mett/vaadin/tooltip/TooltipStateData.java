@@ -1,8 +1,12 @@
 package dev.mett.vaadin.tooltip;
 
 import com.vaadin.flow.component.Component;
+import com.vaadin.flow.function.SerializableFunction;
 import com.vaadin.flow.shared.Registration;
+import dev.mett.vaadin.tooltip.config.ImmutableTooltipConfiguration;
 import dev.mett.vaadin.tooltip.config.TooltipConfiguration;
+import elemental.json.Json;
+import elemental.json.JsonObject;
 import java.io.Serializable;
 import java.lang.ref.WeakReference;
 import lombok.EqualsAndHashCode;
@@ -17,6 +21,10 @@ class TooltipStateData implements Serializable {
 
   private static final long serialVersionUID = 1718507240810676034L;
 
+  private static final String LAZY_CONTENT_KEY = "lazyContent";
+  private static final String LAZY_CONTENT_ID_KEY = "id";
+  private static final String LAZY_CONTENT_PREFETCH_DELAY_KEY = "prefetchDelay";
+
   @Getter
   private WeakReference<Registration> attachReg;
   @Getter
@@ -24,10 +32,41 @@ class TooltipStateData implements Serializable {
   @Getter
   @Setter
   private String frontendId;
+  /**
+   * May be shared with other components if it is an {@link ImmutableTooltipConfiguration}.
+   *
+   * @see #getWritableTooltipConfig()
+   */
   @Getter
   @Setter
   @NonNull
   private TooltipConfiguration tooltipConfig;
+  /**
+   * The configuration the frontend is currently using. Updates only send properties that differ from it.<br>
+   * {@code null} if the frontend state is unknown, in which case the full configuration gets sent.
+   */
+  @Getter
+  @Setter
+  private JsonObject clientConfig;
+  /**
+   * The hash of the configuration the frontend keeps while the component is detached.<br> {@code null} if the frontend does not
+   * keep a configuration for this tooltip.
+   */
+  @Getter
+  @Setter
+  private Integer clientHash;
+  /**
+   * Whether the frontend reported the tooltip to be open.
+   */
+  @Getter
+  @Setter
+  private boolean open;
+  /**
+   * The template the configuration is based on (if any).
+   */
+  @Getter
+  @Setter
+  private TooltipTemplate template;
   @Getter
   private final long tooltipId;
   /**
@@ -36,8 +75,42 @@ class TooltipStateData implements Serializable {
   @Getter
   @Setter
   private Integer tippyId;
+  /**
+   * Whether the tooltip is displayed by the delegating tippy instance of a container instead of its own one.
+   *
+   * @see TooltipDelegation
+   */
+  @Getter
+  @Setter
+  private boolean delegated;
+  /**
+   * Whether the tooltip is declared by attributes of its element instead of being registered using JavaScript.
+   *
+   * @see TooltipDeclaration
+   */
+  @Getter
+  @Setter
+  private boolean declared;
+  /**
+   * The group sharing a single popper element the tooltip belongs to (if any).
+   */
+  @Getter
+  @Setter
+  @ToString.Exclude
+  @EqualsAndHashCode.Exclude
+  private TooltipGroup group;
   @Getter
   private final transient WeakReference<Component> component;
+  /**
+   * Provides the content once the tooltip is about to be shown.<br> {@code null} unless the content is fetched lazily.
+   */
+  @Getter
+  private SerializableFunction<Component, String> contentProvider;
+  /**
+   * Changes with every content provider, which makes the frontend discard content fetched from a previous one.
+   */
+  private int contentProviderId;
+  private int prefetchDelay;
 
   /**
    * INTERNAL
@@ -48,6 +121,48 @@ class TooltipStateData implements Serializable {
     this.component = component;
   }
 
+  /**
+   * Copies an immutable (shared) configuration before it gets modified.
+   *
+   * @return a configuration exclusively used by this tooltip
+   */
+  TooltipConfiguration getWritableTooltipConfig() {
+    if (tooltipConfig instanceof ImmutableTooltipConfiguration) {
+      tooltipConfig = tooltipConfig.clone();
+    }
+
+    return tooltipConfig;
+  }
+
+  /**
+   * @param contentProvider provides the content lazily ({@code null} if the content is part of the configuration)
+   * @param prefetchDelay   the time (ms) the pointer has to rest on the component before the content gets prefetched
+   */
+  void setContentProvider(SerializableFunction<Component, String> contentProvider, int prefetchDelay) {
+    this.contentProvider = contentProvider;
+    this.prefetchDelay = prefetchDelay;
+    contentProviderId++;
+  }
+
+  /**
+   * The JSON representation sent to the frontend.<br> Lazily fetched content is announced in addition to the configuration.
+   *
+   * @return JSON representation of the tooltip
+   */
+  JsonObject toJsonObject() {
+    JsonObject config = tooltipConfig.toJsonObject();
+    if (contentProvider == null) {
+      return config;
+    }
+
+    JsonObject lazyContent = Json.createObject();
+    lazyContent.put(LAZY_CONTENT_ID_KEY, contentProviderId);
+    lazyContent.put(LAZY_CONTENT_PREFETCH_DELAY_KEY, prefetchDelay);
+
+    config.put(LAZY_CONTENT_KEY, lazyContent);
+    return config;
+  }
+
   void setAttachReg(WeakReference<Registration> attachReg) {
     clearRegistration(this.attachReg);
     this.attachReg = attachReg;
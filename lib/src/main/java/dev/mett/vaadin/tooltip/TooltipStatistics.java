@@ -0,0 +1,80 @@
+package dev.mett.vaadin.tooltip;
+
+import com.vaadin.flow.component.Component;
+import java.io.Serializable;
+import java.util.List;
+import java.util.function.Predicate;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * A snapshot of the tooltips of a single {@link com.vaadin.flow.component.UI}.
+ *
+ * @author Gerrit Sedlaczek
+ * @see Tooltips#getStatistics()
+ */
+@Getter
+@ToString
+public final class TooltipStatistics implements Serializable {
+
+  private static final long serialVersionUID = 4417350269318024605L;
+
+  /**
+   * The number of components that have a tooltip.
+   */
+  private final int tooltips;
+  /**
+   * The number of tooltips whose components are currently attached.
+   */
+  private final int attached;
+  /**
+   * The number of tooltips whose content is fetched lazily.
+   */
+  private final int lazy;
+  /**
+   * The number of tooltips displayed by the delegating tippy instance of a container.
+   */
+  private final int delegated;
+  /**
+   * The number of tooltips declared by attributes of their elements.
+   */
+  private final int declared;
+  /**
+   * The number of tooltips that belong to a group.
+   */
+  private final int grouped;
+
+  TooltipStatistics(List<TooltipStateData> states, Predicate<Component> isAttached) {
+    int attachedCount = 0;
+    int lazyCount = 0;
+    int delegatedCount = 0;
+    int declaredCount = 0;
+    int groupedCount = 0;
+
+    for (TooltipStateData state : states) {
+      Component component = state.getComponent().get();
+      if (component != null && isAttached.test(component)) {
+        attachedCount++;
+      }
+      if (state.getContentProvider() != null) {
+        lazyCount++;
+      }
+      if (state.isDelegated()) {
+        delegatedCount++;
+      }
+      if (state.isDeclared()) {
+        declaredCount++;
+      }
+      if (state.getGroup() != null) {
+        groupedCount++;
+      }
+    }
+
+    this.tooltips = states.size();
+    this.attached = attachedCount;
+    this.lazy = lazyCount;
+    this.delegated = delegatedCount;
+    this.declared = declaredCount;
+    this.grouped = groupedCount;
+  }
+}
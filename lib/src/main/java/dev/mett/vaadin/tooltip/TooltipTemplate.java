@@ -0,0 +1,27 @@
+package dev.mett.vaadin.tooltip;
+
+import dev.mett.vaadin.tooltip.config.TooltipConfiguration;
+import elemental.json.JsonObject;
+import java.io.Serializable;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * A named {@link TooltipConfiguration} which is registered once per {@link com.vaadin.flow.component.UI} in the frontend.<br>
+ * Tooltips based on a template only send the properties that differ from it.
+ *
+ * @author Gerrit Sedlaczek
+ * @see Tooltips#registerTemplate(String, TooltipConfiguration)
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+class TooltipTemplate implements Serializable {
+
+  private static final long serialVersionUID = -2378413609163245367L;
+
+  private final String name;
+  private final TooltipConfiguration configuration;
+  private final JsonObject json;
+}
@@ -2,19 +2,27 @@ package dev.mett.vaadin.tooltip;
 
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.HasComponents;
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.dom.Element;
-import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.function.SerializableFunction;
 import com.vaadin.flow.function.SerializableRunnable;
+import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.shared.Registration;
+import dev.mett.vaadin.tooltip.config.ImmutableTooltipConfiguration;
 import dev.mett.vaadin.tooltip.config.TooltipConfiguration;
 import dev.mett.vaadin.tooltip.exception.TooltipsAlreadyInitializedException;
 import dev.mett.vaadin.tooltip.util.TooltipsJsProvider;
 import dev.mett.vaadin.tooltip.util.TooltipsUtil;
-import elemental.json.JsonNull;
-import elemental.json.JsonValue;
 import java.io.Serializable;
 import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
@@ -32,19 +40,41 @@ import java.util.logging.Logger;
  * @see #setTooltip(Component, String)
  * @see #setTooltip(Component, TooltipStateData)
  * @see #setTooltip(Component, TooltipConfiguration)
+ * @see #setTooltip(Component, SerializableFunction)
+ * @see #setTooltips(Map)
  * @see #removeTooltip(Component)
+ * @see #removeTooltips(Collection)
+ * @see #removeTooltipsWithin(Component)
+ * @see #createGroup(Component...)
  */
 public final class Tooltips implements Serializable {
 
   public interface JS_METHODS {
 
     String SET_TOOLTIP = "return window.tooltips.setTooltipToElement($0,$1)"; // DOM-Element, tooltipConfig
+    String SET_TOOLTIPS = "return window.tooltips.setTooltipsToElements([%s],$%d,$%d)"; // DOM-Elements, tooltipConfigs, hashes
+    String UPDATE_TOOLTIPS = "return window.tooltips.updateTooltips([%s],$%d,$%d)"; // DOM-Elements, tooltipConfigs, hashes
+    String REVIVE_TOOLTIPS = "return window.tooltips.reviveTooltips([%s],$%d)"; // DOM-Elements, hashes
     String UPDATE_TOOLTIP = "window.tooltips.updateTooltip($0,$1)"; // DOM-Element, tooltipConfig
+    String REGISTER_TEMPLATES = "window.tooltips.registerTemplates($0,$1)"; // templateNames, tooltipConfigs
     String CLOSE_TOOLTIP_FORCED = "window.tooltips.closeTooltipForced($0)"; // tippyId
+    String CLOSE_TOOLTIPS_FORCED = "window.tooltips.closeTooltipsForced($0)"; // tippyIds
     String REMOVE_TOOLTIP = "window.tooltips.removeTooltip($0,$1)"; // frontendId, tippyId
+    String REMOVE_TOOLTIPS = "window.tooltips.removeTooltips($0,$1)"; // frontendIds, tippyIds
     String CLOSE_ALL_TOOLTIPS = "window.tooltips.closeAllTooltips()";
     String SHOW_TOOLTIP = "window.tooltips.showTooltip($0)"; // DOM-Element
     String HIDE_TOOLTIP = "window.tooltips.hideTooltip($0)"; // DOM-Element
+    String SET_TOOLTIPS_VISIBILITY = "window.tooltips.setTooltipsVisibility([%s],$%d)"; // DOM-Elements, visibilities
+    String ENABLE_DELEGATION = "window.tooltips.enableDelegation($0,$1)"; // Container-Element, tooltipConfig
+    String DISABLE_DELEGATION = "window.tooltips.disableDelegation($0)"; // Container-Element
+    String SET_TOOLTIP_GROUP = "window.tooltips.setTooltipGroup([%s],$%d,$%d)"; // DOM-Elements, groupId, tooltipConfig
+    String REMOVE_TOOLTIP_GROUPS = "window.tooltips.removeTooltipGroups($0)"; // groupIds
+    String ENABLE_GRID_TOOLTIPS = "window.tooltips.enableGridTooltips($0,$1)"; // Grid-Element, tooltipConfig
+    String ENABLE_DECLARATIVE_TOOLTIPS = "window.tooltips.enableDeclarativeTooltips()";
+    String REGISTER_DECLARED_CONFIGS = "window.tooltips.registerDeclaredConfigs($0,$1)"; // configKeys, tooltipConfigs
+    String SET_LIGHTWEIGHT_RENDERING = "window.tooltips.setLightweightRendering($0)"; // enabled
+    String REMOVE_TOOLTIPS_WITHIN = "window.tooltips.removeTooltipsWithin($0)"; // Root-Element
+    String CLOSE_TOOLTIPS_WITHIN = "window.tooltips.closeTooltipsWithin($0)"; // Root-Element
   }
 
   /** STATIC METHODS **/
@@ -59,12 +89,43 @@ public final class Tooltips implements Serializable {
   }
 
   /**
-   * Returns the {@link Tooltips} instance associated with the {@link UI} passed.
+   * Returns the {@link Tooltips} instance associated with the {@link UI} passed.<br> The instance (and the frontend part of this
+   * library) gets added to the {@link UI} upon first use, unless it has been initialized eagerly. As this modifies the
+   * {@link UI}, the first use requires the session of the {@link UI} to be locked (e.g. within {@link UI#access}).
    *
    * @param ui {@link UI}
-   * @return {@link Tooltips}
+   * @return {@link Tooltips} ({@code null} if there is no {@link UI})
+   * @throws IllegalStateException if the instance has to be created while the session is not locked by the current thread
+   * @see dev.mett.vaadin.tooltip.service.TooltipsInitService
    */
   public static Tooltips get(UI ui) {
+    if (ui == null) {
+      return null;
+    }
+
+    Tooltips tooltips = find(ui);
+    if (tooltips == null) {
+      VaadinSession session = ui.getSession();
+      if (session == null || !session.hasLock()) {
+        throw new IllegalStateException("Tooltips4Vaadin requires the session of the UI to be locked in order to initialize it");
+      }
+
+      try {
+        tooltips = new Tooltips(ui);
+      } catch (TooltipsAlreadyInitializedException e) {
+        // unreachable: holding the lock, no other thread can have initialized the UI since find(ui)
+        throw new IllegalStateException(e);
+      }
+    }
+
+    return tooltips;
+  }
+
+  /**
+   * @param ui {@link UI}
+   * @return the {@link Tooltips} instance of the {@link UI} if it has been initialized already
+   */
+  private static Tooltips find(UI ui) {
     return (Tooltips) ComponentUtil.getData(ui, UI_TOOLTIPS_KEY);
   }
 
@@ -82,16 +143,24 @@ public final class Tooltips implements Serializable {
    * TOOLTIPS INSTANCE
    **/
   private final UI defaultUI;
+  private final Map<String, TooltipTemplate> templates = new HashMap<>();
+  /**
+   * All tooltips of the {@link UI} by their tooltip id.
+   */
+  private final TooltipRegistry registry = new TooltipRegistry();
+  private String lazyContentPlaceholder = DEFAULT_LAZY_CONTENT_PLACEHOLDER;
+  private int lazyContentPrefetchDelay = DEFAULT_LAZY_CONTENT_PREFETCH_DELAY;
 
   public Tooltips(UI tooltipsUI) throws TooltipsAlreadyInitializedException {
     this.defaultUI = tooltipsUI;
 
-    if (Tooltips.get(tooltipsUI) != null) {
+    if (Tooltips.find(tooltipsUI) != null) {
       throw new TooltipsAlreadyInitializedException();
     }
 
     // adds the scripts to the currentUI
-    tooltipsUI.add(new TooltipsJsProvider());
+    tooltipsUI.add(new TooltipsJsProvider(this::fetchLazyContent, this::applyOpenStates));
+    tooltipsUI.addDetachListener(evt -> registry.clear());
 
     Tooltips.set(tooltipsUI, this);
   }
@@ -109,24 +178,58 @@ public final class Tooltips implements Serializable {
   private static final String FRONTEND_ID_PREFIX = "tooltip-";
   private static final String FRONTEND_TAG_NAME = "tt4v";
 
+  private static final String DEFAULT_LAZY_CONTENT_PLACEHOLDER = "...";
+  private static final int DEFAULT_LAZY_CONTENT_PREFETCH_DELAY = 150;
+
   /**
    * STATE
    **/
   private static final AtomicLong tooltipIdGenerator = new AtomicLong();
-  private static TooltipConfiguration defaultTooltipConfiguration = null;
-
   /**
-   * TODO: 1. Bulk operations
+   * Shared by all tooltips until they modify their configuration.
    */
+  private static ImmutableTooltipConfiguration defaultTooltipConfiguration =
+      ImmutableTooltipConfiguration.of(new TooltipConfiguration());
 
   /**
-   * Defines a default configuration for all subsequently defined tooltips when using the .
+   * Defines a default configuration for all subsequently defined tooltips when using the .<br> The configuration gets copied,
+   * changing it afterwards does not affect any tooltip.
    *
    * @param configuration the default configuration
    * @see TooltipConfiguration
    */
   public static void setDefaultTooltipConfiguration(TooltipConfiguration configuration) {
-    defaultTooltipConfiguration = configuration;
+    defaultTooltipConfiguration = ImmutableTooltipConfiguration.of(
+        configuration != null
+            ? configuration
+            : new TooltipConfiguration());
+  }
+
+  /**
+   * @return the configuration tooltips start with
+   */
+  static ImmutableTooltipConfiguration getDefaultTooltipConfiguration() {
+    return defaultTooltipConfiguration;
+  }
+
+  /* *** TEMPLATES *** */
+
+  /**
+   * Registers a named template for this {@link UI}.<br> The template gets transferred to the frontend only once, tooltips based on
+   * it only transfer the properties that differ from it.<br> Registering a template with an existing name replaces it for all
+   * subsequent registrations.
+   *
+   * @param templateName the name of the template
+   * @param template     the configuration every tooltip based on this template starts with
+   * @see #setTooltipFromTemplate(Component, String, String)
+   */
+  public void registerTemplate(String templateName, TooltipConfiguration template) {
+    if (templateName == null || template == null) {
+      throw new IllegalArgumentException("Tooltips4Vaadin requires a non null name and configuration for a template");
+    }
+
+    ImmutableTooltipConfiguration configuration = ImmutableTooltipConfiguration.of(template);
+    templates.put(templateName, new TooltipTemplate(templateName, configuration, configuration.toJsonObject()));
   }
 
   /* *** SET / MODIFY *** */
@@ -141,14 +244,46 @@ public final class Tooltips implements Serializable {
   ) {
     getTooltipState(component, true)
         .ifPresent(state -> {
-          if (doesTooltipChange(state, tooltip)) {
-            state.getTooltipConfig().setContent(tooltip);
+          if (tooltip != null && (discardContentProvider(state) || doesTooltipChange(state, tooltip))) {
+            state.getWritableTooltipConfig().setContent(tooltip);
+            setTooltip(component, state);
+          }
+        });
+  }
+
+  /**
+   * Sets a tooltip whose configuration is based on a template.
+   *
+   * @param component    the {@link Component} that is supposed to have a tooltip
+   * @param templateName the name of a template registered using {@link #registerTemplate(String, TooltipConfiguration)}
+   * @param tooltip      the tooltips text
+   */
+  public void setTooltipFromTemplate(
+      final Component component,
+      final String templateName,
+      final String tooltip
+  ) {
+    TooltipTemplate template = templates.get(templateName);
+    if (template == null) {
+      throw new IllegalArgumentException("Tooltips4Vaadin has no template named: " + templateName);
+    }
+
+    TooltipConfiguration configuration = template.getConfiguration().clone();
+    configuration.setContent(tooltip);
+
+    getTooltipState(component, true)
+        .ifPresent(state -> {
+          state.setTemplate(template);
+
+          if (discardContentProvider(state) || doesTooltipChange(state, configuration)) {
+            state.setTooltipConfig(configuration);
             setTooltip(component, state);
           }
         });
   }
 
   private boolean doesTooltipChange(TooltipStateData state, String newTooltip) {
+    // the configuration keeps the source text, hence multi-line texts compare equal as well
     return newTooltip != null && !newTooltip.equals(state.getTooltipConfig().getContent());
   }
 
@@ -162,7 +297,7 @@ public final class Tooltips implements Serializable {
   ) {
     getTooltipState(component, true)
         .ifPresent(state -> {
-          if (doesTooltipChange(state, tooltipConfiguration)) {
+          if (discardContentProvider(state) || doesTooltipChange(state, tooltipConfiguration)) {
             state.setTooltipConfig(tooltipConfiguration);
             setTooltip(component, state);
           }
@@ -170,7 +305,146 @@ public final class Tooltips implements Serializable {
   }
 
   private boolean doesTooltipChange(TooltipStateData state, TooltipConfiguration newConfiguration) {
-    return !state.getTooltipConfig().equals(newConfiguration);
+    TooltipConfiguration currentConfiguration = state.getTooltipConfig();
+
+    // the same instance may have been modified in place (updates without any actual change get dropped by the queue)
+    return currentConfiguration == newConfiguration
+        || !currentConfiguration.isEquivalentTo(newConfiguration);
+  }
+
+  /**
+   * Sets a tooltip whose content is only fetched from the server once it is about to be shown.<br> Until the content arrives a
+   * placeholder is shown (see {@link #setLazyContentPlaceholder(String)}). Resting the pointer on the component prefetches the
+   * content (see {@link #setLazyContentPrefetchDelay(int)}).<br> The content is fetched once per call to this method and gets
+   * rendered by the {@link dev.mett.vaadin.tooltip.config.TooltipContentTransformer} of the components configuration.
+   *
+   * @param component       the {@link Component} that is supposed to have a tooltip
+   * @param contentProvider provides the tooltips text ({@code null} or empty if there is none)
+   */
+  public void setTooltip(
+      final Component component,
+      final SerializableFunction<Component, String> contentProvider
+  ) {
+    if (contentProvider == null) {
+      throw new IllegalArgumentException("Tooltips4Vaadin requires a non null content provider");
+    }
+
+    getTooltipState(component, true)
+        .ifPresent(state -> {
+          state.setContentProvider(contentProvider, lazyContentPrefetchDelay);
+
+          if (!lazyContentPlaceholder.equals(state.getTooltipConfig().getContent())) {
+            state.getWritableTooltipConfig().setContent(lazyContentPlaceholder);
+          }
+          setTooltip(component, state);
+        });
+  }
+
+  /**
+   * @return true if the tooltip fetched its content lazily up to now
+   */
+  private boolean discardContentProvider(TooltipStateData state) {
+    if (state.getContentProvider() == null) {
+      return false;
+    }
+
+    state.setContentProvider(null, 0);
+    return true;
+  }
+
+  /**
+   * Called by the frontend once a lazily provided tooltip is about to be shown.
+   *
+   * @param frontendId the frontend id of the tooltip
+   * @return the rendered content or {@code null} if there is none
+   */
+  String fetchLazyContent(String frontendId) {
+    return findTooltipState(frontendId)
+        .filter(state -> state.getContentProvider() != null)
+        .map(state -> {
+          Component component = state.getComponent().get();
+          if (component == null || !isComponentAttached(component)) {
+            return null;
+          }
+
+          String content = state.getContentProvider().apply(component);
+          return content == null || content.isEmpty()
+              ? null
+              : state.getTooltipConfig().getContentTransformer().transform(content);
+        })
+        .orElse(null);
+  }
+
+  /**
+   * Defines the text shown by lazily provided tooltips until their content arrives (default: "...").<br> Applies to all
+   * subsequently set tooltips.
+   *
+   * @param placeholder the placeholder text
+   * @see #setTooltip(Component, SerializableFunction)
+   */
+  public void setLazyContentPlaceholder(String placeholder) {
+    if (placeholder == null || placeholder.isEmpty()) {
+      throw new IllegalArgumentException("Tooltips4Vaadin requires a non empty placeholder");
+    }
+
+    this.lazyContentPlaceholder = placeholder;
+  }
+
+  /**
+   * Defines how long (ms) the pointer has to rest on a component before the content of its lazily provided tooltip gets
+   * prefetched (default: 150). Applies to all subsequently set tooltips.
+   *
+   * @param prefetchDelay delay in milliseconds
+   * @see #setTooltip(Component, SerializableFunction)
+   */
+  public void setLazyContentPrefetchDelay(int prefetchDelay) {
+    if (prefetchDelay < 0) {
+      throw new IllegalArgumentException("Tooltips4Vaadin requires a positive prefetch delay");
+    }
+
+    this.lazyContentPrefetchDelay = prefetchDelay;
+  }
+
+  /**
+   * Declares subsequently registered tooltips by attributes of their elements (default: false).<br> Their content and
+   * configuration get transferred along with all other changes of the round-trip instead of using JavaScript calls. Tooltips
+   * whose content is fetched lazily or which belong to a group are still registered using JavaScript.<br>
+   * <br>
+   * Only elements within the light DOM of the document are observed.
+   *
+   * @param declarative true to declare tooltips by attributes
+   */
+  public void setDeclarative(boolean declarative) {
+    TooltipsUtil.securelyAccessUI(defaultUI, () -> TooltipsCommandQueue.get(defaultUI).setDeclarative(declarative));
+  }
+
+  /**
+   * @return true if tooltips get declared by attributes
+   * @see #setDeclarative(boolean)
+   */
+  public boolean isDeclarative() {
+    return TooltipsCommandQueue.get(defaultUI).isDeclarative();
+  }
+
+  /**
+   * Displays subsequently registered tooltips, which only define their content, delay and a placement of top / bottom / left /
+   * right, by a single element shared by all of them instead of a tippy instance each (default: false).<br>
+   * <br>
+   * Those tooltips are not announced to assistive technologies (no aria-describedby attribute).
+   *
+   * @param lightweightRendering true to display plain tooltips by a shared element
+   */
+  public void setLightweightRendering(boolean lightweightRendering) {
+    TooltipsUtil.securelyAccessUI(defaultUI,
+        () -> TooltipsCommandQueue.get(defaultUI).setLightweightRendering(lightweightRendering));
+  }
+
+  /**
+   * @return true if plain tooltips get displayed by a shared element
+   * @see #setLightweightRendering(boolean)
+   */
+  public boolean isLightweightRendering() {
+    return TooltipsCommandQueue.get(defaultUI).isLightweightRendering();
   }
 
   /**
@@ -198,15 +472,24 @@ public final class Tooltips implements Serializable {
     }
   }
 
+  /**
+   * Sets tooltips to multiple {@link Component}s at once.<br> All attached components get registered using a single client
+   * round-trip.<br> Components that are not attached yet get registered upon their attach, just like
+   * {@link #setTooltip(Component, TooltipConfiguration)} does.
+   *
+   * @param tooltipConfigurations the {@link Component}s that are supposed to have a tooltip and their {@link TooltipConfiguration}
+   */
+  public void setTooltips(final Map<Component, TooltipConfiguration> tooltipConfigurations) {
+    if (tooltipConfigurations != null) {
+      // every registration is queued and sent in bulk before the response is written
+      tooltipConfigurations.forEach(this::setTooltip);
+    }
+  }
+
   private void updateKnownComponent(Component component, TooltipStateData tooltipState) {
     if (isComponentAttached(component)) {
-      callJsOnComponent(
-          component,
-          JS_METHODS.UPDATE_TOOLTIP,
-          new Serializable[]{
-              component,
-              tooltipState.getTooltipConfig().toJsonObject()},
-          json -> applyJsonTippyId(tooltipState, json));
+      UI ui = getUI(Optional.of(component));
+      TooltipsUtil.securelyAccessUI(ui, () -> TooltipsCommandQueue.get(ui).update(tooltipState));
     }
     // else: automatically uses the new value upon attach
   }
@@ -243,33 +526,40 @@ public final class Tooltips implements Serializable {
   private void setupAutomaticDeregistration(Component component, TooltipStateData state) {
     Registration detachReg = component.addDetachListener(
         evt ->
-            TooltipsUtil.securelyAccessUI(
+            closeFrontendTooltipIfOpen(
                 getUI(Optional.of(component)),
-                () -> closeFrontendTooltip(state.getTippyId())));
+                state));
 
     state.setDetachReg(new WeakReference<>(detachReg));
   }
 
   private void registerWithTippyJS(Component component, TooltipStateData state) {
-    Runnable register = getRegistrationRunnable(component, state);
-
     if (isComponentAttached(component)) {
-      register.run();
+      getRegistrationRunnable(component, state).run();
     }
 
+    registerAttachListener(component, state);
+  }
+
+  private void registerAttachListener(Component component, TooltipStateData state) {
+    Runnable register = getRegistrationRunnable(component, state);
+
     Registration attachReg = component.addAttachListener(evt -> register.run());
     state.setAttachReg(new WeakReference<>(attachReg));
   }
 
   private Runnable getRegistrationRunnable(Component component, TooltipStateData state) {
     return () -> {
-      callJsOnComponent(
-          component,
-          JS_METHODS.SET_TOOLTIP,
-          new Serializable[]{
-              component,
-              state.getTooltipConfig().toJsonObject()},
-          json -> applyJsonTippyId(state, json));
+      UI ui = getUI(Optional.of(component));
+      TooltipsUtil.securelyAccessUI(ui, () -> {
+        // the component may have been moved to another UI
+        Tooltips tooltips = Tooltips.get(ui);
+        if (tooltips != null) {
+          tooltips.registry.put(state);
+        }
+
+        TooltipsCommandQueue.get(ui).register(state);
+      });
     };
   }
 
@@ -279,11 +569,115 @@ public final class Tooltips implements Serializable {
     state.setFrontendId(frontendId);
   }
 
-  private void applyJsonTippyId(TooltipStateData state, JsonValue json) {
-    if (json != null && !(json instanceof JsonNull)) {
-      Integer tippyId = (int) json.asNumber();
-      state.setTippyId(tippyId);
+  /* *** GROUPS *** */
+
+  /**
+   * Groups the tooltips of multiple {@link Component}s, which share a single popper element that moves between them.<br> Only one
+   * tooltip of a group is shown at a time, e.g. within a toolbar. The tooltips of the members are defined as usual.
+   *
+   * @param members the {@link Component}s whose tooltips are supposed to be grouped
+   * @return {@link TooltipGroup}
+   * @see #createGroup(TooltipConfiguration, Component...)
+   */
+  public TooltipGroup createGroup(Component... members) {
+    return createGroup(defaultTooltipConfiguration, members);
+  }
+
+  /**
+   * Groups the tooltips of multiple {@link Component}s, which share a single popper element that moves between them.
+   *
+   * @param configuration the configuration of the shared popper element (its content is ignored)
+   * @param members       the {@link Component}s whose tooltips are supposed to be grouped
+   * @return {@link TooltipGroup}
+   */
+  public TooltipGroup createGroup(TooltipConfiguration configuration, Component... members) {
+    if (configuration == null || members == null) {
+      throw new IllegalArgumentException("Tooltips4Vaadin requires a non null configuration and members for a group");
+    }
+
+    TooltipGroup group = new TooltipGroup(ImmutableTooltipConfiguration.of(configuration));
+    for (Component member : members) {
+      getTooltipState(member, true).ifPresent(group::addMember);
+    }
+
+    UI ui = getGroupUI(group);
+    TooltipsUtil.securelyAccessUI(ui, () -> TooltipsCommandQueue.get(ui).updateGroup(group));
+    return group;
+  }
+
+  /**
+   * Dissolves a group. The tooltips of its members remain.
+   *
+   * @param group {@link TooltipGroup}
+   */
+  public void removeGroup(TooltipGroup group) {
+    if (group != null) {
+      UI ui = getGroupUI(group);
+
+      new ArrayList<>(group.getMemberStates()).forEach(group::removeMember);
+      TooltipsUtil.securelyAccessUI(ui, () -> TooltipsCommandQueue.get(ui).removeGroup(group));
+    }
+  }
+
+  private UI getGroupUI(TooltipGroup group) {
+    return getUI(group.getMembers().stream().findFirst());
+  }
+
+  /* *** DELEGATION *** */
+
+  /**
+   * Displays the tooltips within a container using a single tippy instance instead of one per tooltip.<br> Applies to every
+   * tooltip (subsequently) registered within the container that uses the current default configuration. Their elements only
+   * carry their content. Tooltips with other configurations are registered individually as usual.
+   *
+   * @param container the container whose tooltips are supposed to be delegated
+   * @see #enableDelegation(HasComponents, TooltipConfiguration)
+   */
+  public void enableDelegation(HasComponents container) {
+    enableDelegation(container, defaultTooltipConfiguration);
+  }
+
+  /**
+   * Displays the tooltips within a container using a single tippy instance instead of one per tooltip.<br> Applies to every
+   * tooltip (subsequently) registered within the container that uses the given configuration (apart from its content).
+   *
+   * @param container     the container whose tooltips are supposed to be delegated
+   * @param configuration the configuration of the delegated tooltips
+   */
+  public void enableDelegation(HasComponents container, TooltipConfiguration configuration) {
+    if (container == null || configuration == null) {
+      throw new IllegalArgumentException("Tooltips4Vaadin requires a non null container and configuration for delegation");
     }
+
+    getContainerComponent(container)
+        .ifPresent(component -> TooltipDelegation.enable(component, ImmutableTooltipConfiguration.of(configuration)));
+  }
+
+  /**
+   * Registers the delegated tooltips within a container individually again.
+   *
+   * @param container the container whose tooltips were delegated
+   */
+  public void disableDelegation(HasComponents container) {
+    getContainerComponent(container)
+        .filter(TooltipDelegation::disable)
+        .ifPresent(this::registerDelegatedTooltips);
+  }
+
+  private Optional<Component> getContainerComponent(HasComponents container) {
+    return container != null
+        ? container.getElement().getComponent()
+        : Optional.empty();
+  }
+
+  private void registerDelegatedTooltips(Component parent) {
+    parent.getChildren().forEach(child -> {
+      getTooltipState(child, false)
+          .filter(TooltipStateData::isDelegated)
+          .ifPresent(state -> updateKnownComponent(child, state));
+
+      registerDelegatedTooltips(child);
+    });
   }
 
   /* *** REMOVE *** */
@@ -297,9 +691,12 @@ public final class Tooltips implements Serializable {
     if (component != null) {
       getTooltipState(component, false)
           .ifPresent(state -> {
+            leaveGroup(state);
+
             if (state.getFrontendId() != null) {
 
               deregisterTooltip(
+                  component,
                   state,
                   () -> {
                     removeTooltipState(state);
@@ -310,48 +707,140 @@ public final class Tooltips implements Serializable {
     }
   }
 
+  /**
+   * Removes the tooltips of multiple {@link Component}s at once.<br> All frontend tooltips get deregistered using a single client
+   * round-trip.
+   *
+   * @param components the {@link Component}s that currently have a tooltip
+   */
+  public void removeTooltips(final Collection<? extends Component> components) {
+    if (components != null) {
+      // every deregistration is queued and sent in bulk before the response is written
+      components.forEach(this::removeTooltip);
+    }
+  }
+
+  /**
+   * Removes the tooltips of a {@link Component} and all of its descendants.<br> The frontend destroys them using a single
+   * operation on the element of the root instead of looking up each tooltip.
+   *
+   * @param root the {@link Component} whose subtree should no longer have any tooltips
+   */
+  public void removeTooltipsWithin(final Component root) {
+    if (root == null) {
+      return;
+    }
+
+    List<TooltipStateData> states = collectTooltipStates(root);
+    if (!isComponentAttached(root)) {
+      // the frontend has no element to operate on
+      states.forEach(state -> removeTooltip(state.getComponent().get()));
+      return;
+    }
+
+    states.forEach(this::leaveGroup);
+    states.removeIf(state -> state.getFrontendId() == null);
+
+    UI ui = getUI(Optional.of(root));
+    TooltipsUtil.securelyAccessUI(ui, () ->
+        TooltipsCommandQueue.get(ui).removeWithin(
+            root.getElement(),
+            states,
+            () -> states.forEach(state -> {
+              Component component = state.getComponent().get();
+              removeTooltipState(state);
+              if (component != null) {
+                removeTooltipTag(component.getElement());
+              }
+            })));
+  }
+
+  /**
+   * Closes the open tooltips of a {@link Component} and all of its descendants using a single frontend operation.
+   *
+   * @param root the {@link Component} whose subtree should not show any tooltip
+   */
+  public void closeTooltipsWithin(final Component root) {
+    if (root != null && isComponentAttached(root)) {
+      UI ui = getUI(Optional.of(root));
+      TooltipsUtil.securelyAccessUI(ui, () -> TooltipsCommandQueue.get(ui).closeWithin(root.getElement()));
+    }
+  }
+
+  /**
+   * Walks the subtree of the root once.
+   *
+   * @return the states of all tooltips within the subtree (including the root itself)
+   */
+  private List<TooltipStateData> collectTooltipStates(Component root) {
+    List<TooltipStateData> states = new ArrayList<>();
+    Deque<Component> pending = new ArrayDeque<>();
+    pending.push(root);
+
+    while (!pending.isEmpty()) {
+      Component component = pending.pop();
+      getTooltipState(component, false).ifPresent(states::add);
+      component.getChildren().forEach(pending::push);
+    }
+
+    return states;
+  }
+
+  private void leaveGroup(TooltipStateData state) {
+    TooltipGroup group = state.getGroup();
+    if (group != null) {
+      UI ui = getGroupUI(group);
+      group.removeMember(state);
+      TooltipsUtil.securelyAccessUI(ui, () -> TooltipsCommandQueue.get(ui).updateGroup(group));
+    }
+  }
+
   /**
    * Closes all currently opened tooltips.
    */
   public void closeAllTooltips() {
-    callJsOnPage(JS_METHODS.CLOSE_ALL_TOOLTIPS);
+    UI ui = getUI(Optional.empty());
+    TooltipsUtil.securelyAccessUI(ui, () -> TooltipsCommandQueue.get(ui).closeAll());
   }
 
   /**
    * Close a tooltip if it is still open.
    *
-   * @param tippyId the id of the tooltip itself
+   * @param ui    the {@link UI} the tooltip belongs to
+   * @param state {@link TooltipStateData}
    */
-  private void closeFrontendTooltip(Integer tippyId) {
-    callJsOnPage(JS_METHODS.CLOSE_TOOLTIP_FORCED, new Serializable[]{tippyId});
+  private void closeFrontendTooltipIfOpen(UI ui, TooltipStateData state) {
+    TooltipsUtil.securelyAccessUI(ui, () -> TooltipsCommandQueue.get(ui).closeForcedIfOpen(state));
+  }
+
+  /**
+   * Called by the frontend once tooltips got opened / closed (debounced).
+   *
+   * @param opened the frontend ids of the tooltips which got opened
+   * @param closed the frontend ids of the tooltips which got closed
+   */
+  void applyOpenStates(List<String> opened, List<String> closed) {
+    // ids of tooltips which are no longer registered are ignored
+    closed.forEach(frontendId -> findTooltipState(frontendId).ifPresent(state -> state.setOpen(false)));
+    opened.forEach(frontendId -> findTooltipState(frontendId).ifPresent(state -> state.setOpen(true)));
   }
 
   /**
    * Deregisters a tooltip in the frontend (tippy).
    * Even if the frontend operation fails the afterFrontendDeregistration is guaranteed to be executed.
    *
+   * @param component                   the {@link Component} that currently has a tooltip
    * @param state                       {@link TooltipStateData}
    * @param afterFrontendDeregistration an action to perform after the element has been deregistered
    */
   private void deregisterTooltip(
+      Component component,
       TooltipStateData state,
       SerializableRunnable afterFrontendDeregistration) {
-    Integer tippyId = state.getTippyId();
-    if (tippyId != null) {
-      String frontendId = state.getFrontendId();
-
-      callJsOnPage(
-          JS_METHODS.REMOVE_TOOLTIP,
-          new Serializable[]{
-              frontendId,
-              tippyId},
-          json -> afterFrontendDeregistration.run(),
-          onError -> afterFrontendDeregistration.run());
+    UI ui = getUI(Optional.of(component));
 
-    } else {
-      log.warning(() -> "Tippy frontend id is null for " + state);
-      afterFrontendDeregistration.run();
-    }
+    TooltipsUtil.securelyAccessUI(ui, () ->
+        TooltipsCommandQueue.get(ui).remove(state, afterFrontendDeregistration));
   }
 
   /* *** SHOW / HIDE *** */
@@ -362,7 +851,7 @@ public final class Tooltips implements Serializable {
    * @param component {@link Component}
    */
   public void showTooltip(Component component) {
-    callJsOnComponent(component, JS_METHODS.SHOW_TOOLTIP, new Serializable[]{component});
+    setTooltipVisible(component, true);
   }
 
   /**
@@ -371,7 +860,18 @@ public final class Tooltips implements Serializable {
    * @param component {@link Component}
    */
   public void hideTooltip(Component component) {
-    callJsOnComponent(component, JS_METHODS.HIDE_TOOLTIP, new Serializable[]{component});
+    setTooltipVisible(component, false);
+  }
+
+  private void setTooltipVisible(Component component, boolean visible) {
+    UI ui = getUI(Optional.of(component));
+
+    TooltipsUtil.securelyAccessUI(ui, () -> {
+      getTooltipState(component, false)
+          .ifPresent(Tooltips::ensureTagIsSet);
+
+      TooltipsCommandQueue.get(ui).setVisible(component, visible);
+    });
   }
 
   /* *** CONFIG *** */
@@ -384,109 +884,78 @@ public final class Tooltips implements Serializable {
    */
   public Optional<TooltipConfiguration> getConfiguration(Component component) {
     return getTooltipState(component, false)
-        .map(TooltipStateData::getTooltipConfig);
+        .map(TooltipStateData::getWritableTooltipConfig);
   }
 
-  /* *** UTIL *** */
-
-  private void callJsOnComponent(
-      Component component,
-      String function,
-      Serializable[] parameters,
-      SerializableConsumer<JsonValue> callbackAfterJsExecution,
-      SerializableConsumer<String> callbackAfterJsExecutionOnError) {
-    UI ui = getUI(Optional.of(component));
-
-    TooltipsUtil.securelyAccessUI(ui, () -> {
-      getTooltipState(component, true)
-          .ifPresent(Tooltips::ensureTagIsSet);
-
-      // TODO: cancel handle pendingjsresult
-      component.getElement().executeJs(
-              function,
-              parameters
-          )
-          .then(callbackAfterJsExecution,
-              callbackAfterJsExecutionOnError);
-    });
-  }
+  /* *** REGISTRY *** */
 
-  private void callJsOnComponent(
-      Component component,
-      String function,
-      Serializable[] parameters,
-      SerializableConsumer<JsonValue> callbackAfterJsExecution) {
-    callJsOnComponent(
-        component,
-        function,
-        parameters,
-        callbackAfterJsExecution,
-        err -> log.warning(() -> "Tooltips: js error: " + err));
-  }
-
-  private void callJsOnComponent(
-      Component component,
-      String function,
-      Serializable[] parameters) {
-    callJsOnComponent(
-        component,
-        function,
-        parameters,
-        nothing -> { /* there is no optional action to perform */ });
+  /**
+   * @return all {@link Component}s of this {@link UI} that currently have a tooltip
+   */
+  public List<Component> getComponentsWithTooltip() {
+    List<Component> components = new ArrayList<>();
+    for (TooltipStateData state : getRegisteredStates()) {
+      Component component = state.getComponent().get();
+      if (component != null) {
+        components.add(component);
+      }
+    }
+    return components;
   }
 
-  private void callJsOnComponent(
-      Component component,
-      String function) {
-    callJsOnComponent(component, function, new Serializable[0]);
+  /**
+   * Removes all tooltips of this {@link UI}.<br> All frontend tooltips get deregistered using a single client round-trip.
+   */
+  public void removeAllTooltips() {
+    removeTooltips(getComponentsWithTooltip());
   }
 
-  private void callJsOnPage(
-      String function,
-      Serializable[] parameters,
-      SerializableConsumer<JsonValue> callbackAfterJsExecution,
-      SerializableConsumer<String> callbackAfterJsExecutionOnError) {
-    UI ui = getUI(Optional.empty());
-
-    TooltipsUtil.securelyAccessUI(ui, () ->
-        // TODO: cancel handle pendingjsresult
-        ui.getPage()
-            .executeJs(function, parameters)
-            .then(
-                callbackAfterJsExecution,
-                callbackAfterJsExecutionOnError));
+  /**
+   * @return {@link TooltipStatistics} of the tooltips of this {@link UI}
+   */
+  public TooltipStatistics getStatistics() {
+    return new TooltipStatistics(getRegisteredStates(), this::isComponentAttached);
   }
 
-  private void callJsOnPage(
-      String function,
-      Serializable[] parameters,
-      SerializableConsumer<JsonValue> callbackAfterJsExecution) {
-    callJsOnPage(
-        function,
-        parameters,
-        callbackAfterJsExecution,
-        err -> log.warning(() -> "Tooltips: js error: " + err));
+  /**
+   * @return the states of all tooltips whose components still hold them
+   */
+  private List<TooltipStateData> getRegisteredStates() {
+    List<TooltipStateData> states = registry.getAll();
+    states.removeIf(state -> {
+      Component component = state.getComponent().get();
+      return component == null || ComponentUtil.getData(component, COMPONENT_STATE_KEY) != state;
+    });
+    return states;
   }
 
-  private void callJsOnPage(
-      String function,
-      Serializable[] parameters) {
-    callJsOnPage(
-        function,
-        parameters,
-        nothing -> { /* there is no optional action to perform */ });
-  }
+  /**
+   * @param frontendId the frontend id of the tooltip
+   * @return {@link TooltipStateData} if the tooltip is registered with this {@link UI}
+   */
+  private Optional<TooltipStateData> findTooltipState(String frontendId) {
+    if (frontendId == null || !frontendId.startsWith(FRONTEND_ID_PREFIX)) {
+      return Optional.empty();
+    }
 
-  private void callJsOnPage(
-      String function) {
-    callJsOnPage(function, new Serializable[0]);
+    try {
+      long tooltipId = Long.parseLong(frontendId.substring(FRONTEND_ID_PREFIX.length()));
+      return Optional.ofNullable(registry.get(tooltipId));
+    } catch (NumberFormatException e) {
+      return Optional.empty();
+    }
   }
 
+  /* *** UTIL *** */
 
   private Optional<TooltipStateData> getTooltipState(final Component comp, final boolean register) {
     TooltipStateData state = (TooltipStateData) ComponentUtil.getData(comp, COMPONENT_STATE_KEY);
 
     if (state != null) {
+      if (register) {
+        // a component moved to another UI belongs to its registry
+        register(comp, state);
+      }
       return Optional.of(state);
 
     } else {
@@ -501,19 +970,34 @@ public final class Tooltips implements Serializable {
           comp,
           COMPONENT_STATE_KEY,
           tooltipStateData);
+      register(comp, tooltipStateData);
 
       return Optional.of(tooltipStateData);
     }
   }
 
+  /**
+   * Adds the state to the registry of the {@link UI} the component belongs to (this one if it is not attached yet).
+   */
+  private void register(Component comp, TooltipStateData state) {
+    Optional<UI> componentUI = comp.getUI();
+    if (!componentUI.isPresent()) {
+      registry.put(state);
+      return;
+    }
+
+    // the instance of the component's UI may have to be created, which requires its session to be locked
+    UI ui = componentUI.get();
+    TooltipsUtil.securelyAccessUI(ui, () -> Tooltips.get(ui).registry.put(state));
+  }
+
   private TooltipStateData createTooltipStateData(
       Component comp,
       long finalTooltipId) {
 
+    // the default configuration only gets copied once the tooltip modifies it
     return new TooltipStateData(
-        defaultTooltipConfiguration != null
-            ? defaultTooltipConfiguration.clone()
-            : new TooltipConfiguration(),
+        defaultTooltipConfiguration,
         finalTooltipId,
         new WeakReference<>(comp));
   }
@@ -522,9 +1006,14 @@ public final class Tooltips implements Serializable {
     if (state != null) {
       removeReg(state.getAttachReg());
       removeReg(state.getDetachReg());
+      registry.remove(state.getTooltipId());
 
       Component component = state.getComponent().get();
       if (component != null) {
+        component.getUI()
+            .map(Tooltips::find)
+            .ifPresent(tooltips -> tooltips.registry.remove(state.getTooltipId()));
+
         ComponentUtil.setData(
             component,
             COMPONENT_STATE_KEY,
@@ -551,7 +1040,7 @@ public final class Tooltips implements Serializable {
     }
   }
 
-  private static void ensureTagIsSet(final TooltipStateData state) {
+  static void ensureTagIsSet(final TooltipStateData state) {
     Component comp = state.getComponent().get();
     if (comp != null) {
       Element element = comp.getElement();
@@ -580,5 +1069,7 @@ public final class Tooltips implements Serializable {
 
   private static void removeTooltipTag(Element element) {
     element.removeAttribute(FRONTEND_TAG_NAME);
+    element.removeAttribute(TooltipDelegation.CONTENT_ATTRIBUTE);
+    TooltipDeclaration.clear(element);
   }
 }
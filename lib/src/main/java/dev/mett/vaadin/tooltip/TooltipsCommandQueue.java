@@ -0,0 +1,793 @@
+package dev.mett.vaadin.tooltip;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.dom.Element;
+import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.function.SerializableRunnable;
+import dev.mett.vaadin.tooltip.Tooltips.JS_METHODS;
+import dev.mett.vaadin.tooltip.config.TooltipConfigurationJsonSerializer;
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonBoolean;
+import elemental.json.JsonNull;
+import elemental.json.JsonObject;
+import elemental.json.JsonValue;
+import java.io.Serializable;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Logger;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Collects the frontend operations of a single {@link UI} and sends them in bulk right before the response is written.<br>
+ * Operations which get superseded within the same round-trip are never sent:
+ * <ul>
+ *   <li>the last update of a tooltip wins</li>
+ *   <li>registering and removing a tooltip within the same round-trip cancel each other out</li>
+ *   <li>only the last show / hide of a tooltip gets executed</li>
+ * </ul>
+ *
+ * @author Gerrit Sedlaczek
+ */
+class TooltipsCommandQueue implements Serializable {
+
+  private static final long serialVersionUID = 4693062851163416917L;
+  private static final Logger log = Logger.getLogger(TooltipsCommandQueue.class.getName());
+
+  /**
+   * Returns the {@link TooltipsCommandQueue} of the given {@link UI} and creates it if necessary.
+   *
+   * @param ui {@link UI}
+   * @return {@link TooltipsCommandQueue}
+   */
+  static TooltipsCommandQueue get(UI ui) {
+    TooltipsCommandQueue queue = ComponentUtil.getData(ui, TooltipsCommandQueue.class);
+
+    if (queue == null) {
+      queue = new TooltipsCommandQueue(ui);
+      ComponentUtil.setData(ui, TooltipsCommandQueue.class, queue);
+    }
+
+    return queue;
+  }
+
+  private static final String TEMPLATE_KEY = "template";
+
+  private static final SecureRandom random = new SecureRandom();
+
+  private final UI ui;
+  private boolean flushScheduled = false;
+
+  /**
+   * The templates known to the frontend of this {@link UI}.
+   */
+  private final Map<String, TooltipTemplate> clientTemplates = new HashMap<>();
+
+  /**
+   * The keys of the configurations (without content) of declared tooltips, which are known to the frontend of this {@link UI}.
+   * They are random, hence markup which did not originate from the server cannot refer to any of them.
+   *
+   * @see TooltipDeclaration
+   */
+  private final Map<String, String> clientDeclaredConfigs = new HashMap<>();
+  private final String declaredConfigKeyPrefix = Long.toHexString(random.nextLong()) + "-";
+  private final Map<String, String> declaredConfigRegistrations = new LinkedHashMap<>();
+
+  private final Map<Long, TooltipStateData> registrations = new LinkedHashMap<>();
+  private final Map<Long, TooltipStateData> updates = new LinkedHashMap<>();
+  private final Map<Long, PendingRemoval> removals = new LinkedHashMap<>();
+  private final Set<Integer> forcedCloses = new LinkedHashSet<>();
+  private final Map<Element, List<SerializableRunnable>> subtreeRemovals = new LinkedHashMap<>();
+  /**
+   * The ids of the tooltips within the subtrees of {@link #subtreeRemovals}, until the frontend removed them.
+   */
+  private final Set<Long> subtreeRemovedTooltips = new HashSet<>();
+  private final Set<Element> subtreeCloses = new LinkedHashSet<>();
+  private final Map<Component, Boolean> visibilityChanges = new LinkedHashMap<>();
+  private final Map<Long, TooltipGroup> groupUpdates = new LinkedHashMap<>();
+  private final Set<Long> groupRemovals = new LinkedHashSet<>();
+  private boolean closeAll = false;
+  /**
+   * Whether tooltips get declared by attributes instead of being registered using JavaScript.
+   *
+   * @see TooltipDeclaration
+   */
+  private boolean declarative = false;
+  /**
+   * Whether plain tooltips get displayed by a shared element instead of a tippy instance each.
+   */
+  private boolean lightweightRendering = false;
+
+  private TooltipsCommandQueue(UI ui) {
+    this.ui = ui;
+  }
+
+  /**
+   * Subsequently registered tooltips get declared by attributes instead of being registered using JavaScript.
+   *
+   * @param declarative true to declare tooltips by attributes
+   * @see TooltipDeclaration
+   */
+  void setDeclarative(boolean declarative) {
+    if (declarative && !this.declarative) {
+      executeJs(JS_METHODS.ENABLE_DECLARATIVE_TOOLTIPS, new Serializable[0], nothing -> { /* no action required */ });
+    }
+    this.declarative = declarative;
+  }
+
+  boolean isDeclarative() {
+    return declarative;
+  }
+
+  /**
+   * Subsequently registered plain tooltips get displayed by a shared element instead of a tippy instance each.
+   *
+   * @param lightweightRendering true to display plain tooltips by a shared element
+   */
+  void setLightweightRendering(boolean lightweightRendering) {
+    if (lightweightRendering != this.lightweightRendering) {
+      executeJs(JS_METHODS.SET_LIGHTWEIGHT_RENDERING, new Serializable[] {lightweightRendering},
+          nothing -> { /* no action required */ });
+    }
+    this.lightweightRendering = lightweightRendering;
+  }
+
+  boolean isLightweightRendering() {
+    return lightweightRendering;
+  }
+
+  /* *** QUEUE *** */
+
+  /**
+   * Registers a tooltip with tippy (recreates it if it exists already).<br> A pending removal takes precedence.
+   *
+   * @param state {@link TooltipStateData}
+   */
+  void register(TooltipStateData state) {
+    long tooltipId = state.getTooltipId();
+    if (removals.containsKey(tooltipId) || subtreeRemovedTooltips.contains(tooltipId)) {
+      return;
+    }
+
+    updates.remove(tooltipId);
+    registrations.put(tooltipId, state);
+    scheduleFlush();
+  }
+
+  /**
+   * Updates an already registered tooltip.<br> A pending registration already uses the latest configuration while a pending
+   * removal gets canceled. A pending removal of the subtree the tooltip belongs to takes precedence, as the server drops the
+   * tooltip once it got executed.
+   *
+   * @param state {@link TooltipStateData}
+   */
+  void update(TooltipStateData state) {
+    long tooltipId = state.getTooltipId();
+    if (registrations.containsKey(tooltipId) || subtreeRemovedTooltips.contains(tooltipId)) {
+      return;
+    }
+
+    removals.remove(tooltipId);
+    updates.put(tooltipId, state);
+    scheduleFlush();
+  }
+
+  /**
+   * Removes a tooltip from tippy.<br> Even if the frontend operation fails the afterFrontendDeregistration is guaranteed to be
+   * executed.
+   *
+   * @param state                       {@link TooltipStateData}
+   * @param afterFrontendDeregistration an action to perform after the element has been deregistered
+   */
+  void remove(TooltipStateData state, SerializableRunnable afterFrontendDeregistration) {
+    long tooltipId = state.getTooltipId();
+    boolean registrationCanceled = registrations.remove(tooltipId) != null;
+    updates.remove(tooltipId);
+    state.setClientHash(null);
+    state.setOpen(false);
+
+    // a registration that has been sent might still be pending on the client (it registers tooltips when idle)
+    if (state.getTippyId() == null && state.getClientConfig() == null) {
+      if (!registrationCanceled && !state.isDelegated() && !state.isDeclared()) {
+        log.warning(() -> "Tippy frontend id is null for " + state);
+      }
+
+      afterFrontendDeregistration.run();
+      return;
+    }
+
+    removals.put(tooltipId, new PendingRemoval(state, afterFrontendDeregistration));
+    scheduleFlush();
+  }
+
+  /**
+   * Removes the tooltips of a subtree using a single frontend operation on its root element.<br> Even if the frontend operation
+   * fails the afterFrontendDeregistration is guaranteed to be executed.
+   *
+   * @param root                        the root element of the subtree
+   * @param states                      the tooltips within the subtree
+   * @param afterFrontendDeregistration an action to perform after the elements have been deregistered
+   */
+  void removeWithin(Element root, List<TooltipStateData> states, SerializableRunnable afterFrontendDeregistration) {
+    for (TooltipStateData state : states) {
+      registrations.remove(state.getTooltipId());
+      updates.remove(state.getTooltipId());
+      subtreeRemovedTooltips.add(state.getTooltipId());
+      state.setClientHash(null);
+      state.setOpen(false);
+    }
+
+    subtreeRemovals.computeIfAbsent(root, element -> new ArrayList<>()).add(() -> {
+      states.forEach(state -> subtreeRemovedTooltips.remove(state.getTooltipId()));
+      afterFrontendDeregistration.run();
+    });
+    scheduleFlush();
+  }
+
+  /**
+   * Closes the open tooltips of a subtree using a single frontend operation on its root element.
+   *
+   * @param root the root element of the subtree
+   */
+  void closeWithin(Element root) {
+    subtreeCloses.add(root);
+    scheduleFlush();
+  }
+
+  /**
+   * Closes a tooltip if the frontend reported it to be open (e.g. upon detach).
+   *
+   * @param state {@link TooltipStateData}
+   */
+  void closeForcedIfOpen(TooltipStateData state) {
+    if (state.isOpen()) {
+      state.setOpen(false);
+      closeForced(state.getTippyId());
+    }
+  }
+
+  /**
+   * Closes a tooltip if it is still open.
+   *
+   * @param tippyId the id of the tooltip itself
+   */
+  private void closeForced(Integer tippyId) {
+    if (tippyId != null) {
+      forcedCloses.add(tippyId);
+      scheduleFlush();
+    }
+  }
+
+  /**
+   * Closes all tooltips. Supersedes every pending show / hide.
+   */
+  void closeAll() {
+    visibilityChanges.clear();
+    closeAll = true;
+    scheduleFlush();
+  }
+
+  /**
+   * Shows or hides the tooltip of a component. Only the last change per component gets executed.
+   *
+   * @param component {@link Component}
+   * @param visible   whether the tooltip is supposed to be shown
+   */
+  void setVisible(Component component, boolean visible) {
+    visibilityChanges.remove(component);
+    visibilityChanges.put(component, visible);
+    scheduleFlush();
+  }
+
+  /**
+   * Transfers the members of a group. Members registered later on add themselves.
+   *
+   * @param group {@link TooltipGroup}
+   */
+  void updateGroup(TooltipGroup group) {
+    groupRemovals.remove(group.getGroupId());
+    groupUpdates.put(group.getGroupId(), group);
+    scheduleFlush();
+  }
+
+  /**
+   * Dissolves a group, its members display their own popper element again.
+   *
+   * @param group {@link TooltipGroup}
+   */
+  void removeGroup(TooltipGroup group) {
+    groupUpdates.remove(group.getGroupId());
+    groupRemovals.add(group.getGroupId());
+    scheduleFlush();
+  }
+
+  private void scheduleFlush() {
+    if (!flushScheduled) {
+      flushScheduled = true;
+      ui.beforeClientResponse(ui, context -> flush());
+    }
+  }
+
+  /* *** FLUSH *** */
+
+  private void flush() {
+    flushScheduled = false;
+
+    List<PendingRemoval> pendingRemovals = drain(removals.values());
+    Map<Element, List<SerializableRunnable>> pendingSubtreeRemovals = new LinkedHashMap<>(subtreeRemovals);
+    subtreeRemovals.clear();
+    List<Element> pendingSubtreeCloses = drain(subtreeCloses);
+    List<Integer> pendingForcedCloses = drain(forcedCloses);
+    boolean pendingCloseAll = closeAll;
+    List<TooltipStateData> pendingRegistrations = drain(registrations.values());
+    List<TooltipStateData> pendingUpdates = drain(updates.values());
+    List<Long> pendingGroupRemovals = drain(groupRemovals);
+    Map<Component, Boolean> pendingVisibilityChanges = new LinkedHashMap<>(visibilityChanges);
+    visibilityChanges.clear();
+    closeAll = false;
+
+    executeRemovals(pendingRemovals);
+    executeSubtreeRemovals(pendingSubtreeRemovals);
+    executeForcedCloses(pendingForcedCloses);
+    pendingSubtreeCloses.forEach(root -> executeJs(JS_METHODS.CLOSE_TOOLTIPS_WITHIN, new Serializable[]{root},
+        nothing -> { /* no action required */ }));
+    if (pendingCloseAll) {
+      executeJs(JS_METHODS.CLOSE_ALL_TOOLTIPS, new Serializable[0], nothing -> { /* no action required */ });
+    }
+    executeTemplateRegistrations(pendingRegistrations);
+    executeRegistrations(JS_METHODS.SET_TOOLTIPS, pendingRegistrations, false);
+    executeRegistrations(JS_METHODS.UPDATE_TOOLTIPS, pendingUpdates, true);
+    executeDeclaredConfigRegistrations();
+    executeGroupRemovals(pendingGroupRemovals);
+    // includes the groups of the tooltips registered above
+    executeGroupUpdates(drain(groupUpdates.values()));
+    executeVisibilityChanges(pendingVisibilityChanges);
+  }
+
+  private static <T> List<T> drain(Collection<T> pending) {
+    List<T> drained = new ArrayList<>(pending);
+    pending.clear();
+    return drained;
+  }
+
+  private void executeRemovals(List<PendingRemoval> pendingRemovals) {
+    if (pendingRemovals.isEmpty()) {
+      return;
+    }
+
+    JsonArray frontendIds = Json.createArray();
+    JsonArray tippyIds = Json.createArray();
+    for (PendingRemoval removal : pendingRemovals) {
+      Integer tippyId = removal.state.getTippyId();
+      frontendIds.set(frontendIds.length(), removal.state.getFrontendId());
+      // the registration may still be pending on the client
+      tippyIds.set(tippyIds.length(), tippyId != null ? Json.create(tippyId) : Json.createNull());
+    }
+
+    SerializableRunnable afterFrontendDeregistration =
+        () -> pendingRemovals.forEach(removal -> removal.afterFrontendDeregistration.run());
+
+    executeJs(
+        JS_METHODS.REMOVE_TOOLTIPS,
+        new Serializable[]{
+            frontendIds,
+            tippyIds},
+        json -> afterFrontendDeregistration.run(),
+        onError -> afterFrontendDeregistration.run());
+  }
+
+  private void executeSubtreeRemovals(Map<Element, List<SerializableRunnable>> pendingSubtreeRemovals) {
+    pendingSubtreeRemovals.forEach((root, afterFrontendDeregistrations) -> {
+      SerializableRunnable afterFrontendDeregistration = () -> afterFrontendDeregistrations.forEach(Runnable::run);
+
+      executeJs(
+          JS_METHODS.REMOVE_TOOLTIPS_WITHIN,
+          new Serializable[]{root},
+          json -> afterFrontendDeregistration.run(),
+          onError -> afterFrontendDeregistration.run());
+    });
+  }
+
+  private void executeForcedCloses(List<Integer> tippyIds) {
+    if (tippyIds.isEmpty()) {
+      return;
+    }
+
+    JsonArray jsonTippyIds = Json.createArray();
+    tippyIds.forEach(tippyId -> jsonTippyIds.set(jsonTippyIds.length(), tippyId));
+
+    executeJs(
+        JS_METHODS.CLOSE_TOOLTIPS_FORCED,
+        new Serializable[]{jsonTippyIds},
+        nothing -> { /* no action required */ });
+  }
+
+  /**
+   * @param function the bulk JS function
+   * @param states   the tooltips to register / update
+   * @param patch    whether only the properties that differ from {@link TooltipStateData#getClientConfig()} should be sent
+   */
+  private void executeRegistrations(String function, List<TooltipStateData> states, boolean patch) {
+    List<TooltipStateData> attachedStates = new ArrayList<>();
+    List<Serializable> parameters = new ArrayList<>();
+    JsonArray configs = Json.createArray();
+    JsonArray hashes = Json.createArray();
+    List<TooltipStateData> revivedStates = new ArrayList<>();
+
+    for (TooltipStateData state : states) {
+      Component component = state.getComponent().get();
+      // detached components get registered again upon their attach
+      if (component == null || !component.getElement().getNode().isAttached()) {
+        continue;
+      }
+
+      if (delegate(component, state) || declare(component, state)) {
+        continue;
+      }
+
+      JsonObject config = state.toJsonObject();
+      int hash = config.toJson().hashCode();
+
+      Tooltips.ensureTagIsSet(state);
+      if (!patch) {
+        scheduleGroupUpdate(state);
+      }
+
+      if (!patch && Integer.valueOf(hash).equals(state.getClientHash())) {
+        // re-attached: the frontend still knows this configuration
+        state.setClientConfig(config);
+        revivedStates.add(state);
+        continue;
+      }
+
+      JsonObject clientConfig = state.getClientConfig();
+      JsonObject sentConfig;
+      if (patch && clientConfig != null) {
+        sentConfig = TooltipConfigurationJsonSerializer.diff(clientConfig, config);
+
+        if (sentConfig.keys().length == 0) {
+          // the frontend already uses this configuration
+          continue;
+        }
+
+      } else if (state.getTemplate() != null) {
+        TooltipTemplate template = state.getTemplate();
+        sentConfig = TooltipConfigurationJsonSerializer.diff(template.getJson(), config);
+        sentConfig.put(TEMPLATE_KEY, template.getName());
+
+      } else {
+        sentConfig = config;
+      }
+
+      // invocations are executed in order, so the frontend uses this configuration once it processed the invocation
+      state.setClientConfig(config);
+      state.setClientHash(hash);
+
+      attachedStates.add(state);
+      parameters.add(component.getElement());
+      configs.set(configs.length(), sentConfig);
+      hashes.set(hashes.length(), hash);
+    }
+
+    executeRevivals(revivedStates);
+
+    if (attachedStates.isEmpty()) {
+      return;
+    }
+
+    String elements = elementParameters(parameters.size());
+    int configsIndex = parameters.size();
+    parameters.add(configs);
+    parameters.add(hashes);
+
+    executeJs(
+        String.format(function, elements, configsIndex, configsIndex + 1),
+        parameters.toArray(new Serializable[0]),
+        json -> applyJsonTippyIds(attachedStates, json),
+        err -> {
+          log.warning(() -> "Tooltips: js error: " + err);
+          // the frontend state is unknown, hence the next update has to send the full configuration
+          attachedStates.forEach(this::forgetClientConfig);
+        });
+  }
+
+  private void scheduleGroupUpdate(TooltipStateData state) {
+    if (state.getGroup() != null) {
+      // the group has to use the new tippy instance
+      groupUpdates.put(state.getGroup().getGroupId(), state.getGroup());
+    }
+  }
+
+  private void forgetClientConfig(TooltipStateData state) {
+    state.setClientConfig(null);
+    state.setClientHash(null);
+  }
+
+  /**
+   * Restores re-attached tooltips from the configurations the frontend keeps. Only their hashes are sent, tooltips whose
+   * configuration the frontend no longer keeps get registered in full instead.
+   */
+  private void executeRevivals(List<TooltipStateData> states) {
+    if (states.isEmpty()) {
+      return;
+    }
+
+    List<Serializable> parameters = new ArrayList<>();
+    JsonArray hashes = Json.createArray();
+    for (TooltipStateData state : states) {
+      parameters.add(state.getComponent().get().getElement());
+      hashes.set(hashes.length(), state.getClientHash());
+    }
+    int hashesIndex = parameters.size();
+    parameters.add(hashes);
+
+    executeJs(
+        String.format(JS_METHODS.REVIVE_TOOLTIPS, elementParameters(states.size()), hashesIndex),
+        parameters.toArray(new Serializable[0]),
+        json -> {
+          JsonArray tippyIds = json instanceof JsonArray ? (JsonArray) json : Json.createArray();
+
+          for (int i = 0; i < tippyIds.length() && i < states.size(); i++) {
+            TooltipStateData state = states.get(i);
+            JsonValue tippyId = tippyIds.get(i);
+
+            if (tippyId instanceof JsonBoolean) {
+              // the frontend no longer keeps the configuration
+              forgetClientConfig(state);
+              register(state);
+            } else if (tippyId != null && !(tippyId instanceof JsonNull)) {
+              state.setTippyId((int) tippyId.asNumber());
+            }
+          }
+        },
+        err -> {
+          log.warning(() -> "Tooltips: js error: " + err);
+          states.forEach(this::forgetClientConfig);
+        });
+  }
+
+  /**
+   * Hands a tooltip over to the delegating tippy instance of its container, unless it is registered individually already.
+   *
+   * @return true if the tooltip is delegated
+   */
+  private boolean delegate(Component component, TooltipStateData state) {
+    if (state.getClientConfig() == null && state.getGroup() == null) {
+      Optional<TooltipDelegation> delegation = TooltipDelegation.find(component)
+          .filter(containerDelegation -> containerDelegation.accepts(state));
+
+      if (delegation.isPresent()) {
+        delegation.get().apply(component, state);
+        return true;
+      }
+    }
+
+    if (state.isDelegated()) {
+      // the frontend does not know the tooltip yet, hence it has to be registered in full
+      component.getElement().removeAttribute(TooltipDelegation.CONTENT_ATTRIBUTE);
+      state.setDelegated(false);
+      state.setClientConfig(null);
+    }
+
+    return false;
+  }
+
+  /**
+   * Declares a tooltip by attributes, unless it is registered using JavaScript already.
+   *
+   * @return true if the tooltip is declared
+   */
+  private boolean declare(Component component, TooltipStateData state) {
+    if (declarative
+        && state.getTippyId() == null
+        && state.getClientConfig() == null
+        && TooltipDeclaration.accepts(state)) {
+      TooltipDeclaration.apply(component, state, declaredConfigKey(state));
+      return true;
+    }
+
+    if (state.isDeclared()) {
+      // the frontend destroys the declared tippy instance, hence it has to be registered in full
+      TooltipDeclaration.clear(component.getElement());
+      state.setDeclared(false);
+    }
+
+    return false;
+  }
+
+  /**
+   * @return the key of the configuration (without content) of a declared tooltip, which gets transferred once per {@link UI}
+   */
+  private String declaredConfigKey(TooltipStateData state) {
+    String configJson = TooltipDelegation.withoutContent(state.getTooltipConfig());
+
+    return clientDeclaredConfigs.computeIfAbsent(configJson, json -> {
+      String configKey = declaredConfigKeyPrefix + clientDeclaredConfigs.size();
+      declaredConfigRegistrations.put(configKey, json);
+      return configKey;
+    });
+  }
+
+  private void executeDeclaredConfigRegistrations() {
+    if (declaredConfigRegistrations.isEmpty()) {
+      return;
+    }
+
+    JsonArray configKeys = Json.createArray();
+    JsonArray configs = Json.createArray();
+    declaredConfigRegistrations.forEach((configKey, configJson) -> {
+      configKeys.set(configKeys.length(), configKey);
+      configs.set(configs.length(), Json.parse(configJson));
+    });
+    declaredConfigRegistrations.clear();
+
+    executeJs(
+        JS_METHODS.REGISTER_DECLARED_CONFIGS,
+        new Serializable[]{
+            configKeys,
+            configs},
+        nothing -> { /* no action required */ });
+  }
+
+  /**
+   * Transfers the templates used by the given tooltips, unless the frontend already knows them.
+   */
+  private void executeTemplateRegistrations(List<TooltipStateData> states) {
+    JsonArray templateNames = Json.createArray();
+    JsonArray templateConfigs = Json.createArray();
+
+    for (TooltipStateData state : states) {
+      TooltipTemplate template = state.getTemplate();
+
+      if (template != null && clientTemplates.get(template.getName()) != template) {
+        clientTemplates.put(template.getName(), template);
+        templateNames.set(templateNames.length(), template.getName());
+        templateConfigs.set(templateConfigs.length(), template.getJson());
+      }
+    }
+
+    if (templateNames.length() > 0) {
+      executeJs(
+          JS_METHODS.REGISTER_TEMPLATES,
+          new Serializable[]{
+              templateNames,
+              templateConfigs},
+          nothing -> { /* no action required */ });
+    }
+  }
+
+  private void executeGroupRemovals(List<Long> groupIds) {
+    if (groupIds.isEmpty()) {
+      return;
+    }
+
+    JsonArray jsonGroupIds = Json.createArray();
+    groupIds.forEach(groupId -> jsonGroupIds.set(jsonGroupIds.length(), groupId));
+
+    executeJs(
+        JS_METHODS.REMOVE_TOOLTIP_GROUPS,
+        new Serializable[]{jsonGroupIds},
+        nothing -> { /* no action required */ });
+  }
+
+  private void executeGroupUpdates(List<TooltipGroup> groups) {
+    for (TooltipGroup group : groups) {
+      List<Serializable> parameters = new ArrayList<>();
+
+      for (TooltipStateData state : group.getMemberStates()) {
+        Component component = state.getComponent().get();
+        if (component != null && component.getElement().getNode().isAttached() && state.getFrontendId() != null) {
+          parameters.add(component.getElement());
+        }
+      }
+
+      String elements = elementParameters(parameters.size());
+      int groupIdIndex = parameters.size();
+      parameters.add(Json.create(group.getGroupId()));
+      parameters.add(group.getConfiguration().toJsonObject());
+
+      executeJs(
+          String.format(JS_METHODS.SET_TOOLTIP_GROUP, elements, groupIdIndex, groupIdIndex + 1),
+          parameters.toArray(new Serializable[0]),
+          nothing -> { /* no action required */ });
+    }
+  }
+
+  private void executeVisibilityChanges(Map<Component, Boolean> changes) {
+    List<Serializable> parameters = new ArrayList<>();
+    JsonArray visibilities = Json.createArray();
+
+    changes.forEach((component, visible) -> {
+      if (component.getElement().getNode().isAttached()) {
+        parameters.add(component.getElement());
+        visibilities.set(visibilities.length(), visible);
+      }
+    });
+
+    if (parameters.isEmpty()) {
+      return;
+    }
+
+    String elements = elementParameters(parameters.size());
+    int visibilitiesIndex = parameters.size();
+    parameters.add(visibilities);
+
+    executeJs(
+        String.format(JS_METHODS.SET_TOOLTIPS_VISIBILITY, elements, visibilitiesIndex),
+        parameters.toArray(new Serializable[0]),
+        nothing -> { /* no action required */ });
+  }
+
+  /* *** UTIL *** */
+
+  /**
+   * @param count number of element parameters
+   * @return the parameter references "$0,$1,...,$count-1"
+   */
+  private static String elementParameters(int count) {
+    StringBuilder elements = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      if (i > 0) {
+        elements.append(',');
+      }
+      elements.append('$').append(i);
+    }
+    return elements.toString();
+  }
+
+  private static void applyJsonTippyIds(List<TooltipStateData> states, JsonValue json) {
+    if (json instanceof JsonArray) {
+      JsonArray tippyIds = (JsonArray) json;
+
+      for (int i = 0; i < tippyIds.length() && i < states.size(); i++) {
+        JsonValue tippyId = tippyIds.get(i);
+        if (tippyId != null && !(tippyId instanceof JsonNull)) {
+          states.get(i).setTippyId((int) tippyId.asNumber());
+        }
+      }
+    }
+  }
+
+  private void executeJs(
+      String function,
+      Serializable[] parameters,
+      SerializableConsumer<JsonValue> callbackAfterJsExecution) {
+    executeJs(
+        function,
+        parameters,
+        callbackAfterJsExecution,
+        err -> log.warning(() -> "Tooltips: js error: " + err));
+  }
+
+  private void executeJs(
+      String function,
+      Serializable[] parameters,
+      SerializableConsumer<JsonValue> callbackAfterJsExecution,
+      SerializableConsumer<String> callbackAfterJsExecutionOnError) {
+    ui.getPage()
+        .executeJs(function, parameters)
+        .then(
+            callbackAfterJsExecution,
+            callbackAfterJsExecutionOnError);
+  }
+
+  @RequiredArgsConstructor
+  private static class PendingRemoval implements Serializable {
+
+    private static final long serialVersionUID = -1468503405869153025L;
+
+    private final TooltipStateData state;
+    private final SerializableRunnable afterFrontendDeregistration;
+  }
+}
@@ -0,0 +1,83 @@
+package dev.mett.vaadin.tooltip.config;
+
+/**
+ * Built-in {@link TooltipContentTransformer}s. Each one scans the text a single time and returns it unchanged (without
+ * copying) if there is nothing to replace.
+ *
+ * @author Gerrit Sedlaczek
+ */
+enum ContentTransformers implements TooltipContentTransformer {
+  NEWLINES_TO_HTML {
+    @Override
+    public String transform(String content) {
+      return replace(content, false);
+    }
+  },
+  ESCAPE_HTML {
+    @Override
+    public String transform(String content) {
+      return replace(content, true);
+    }
+  },
+  NONE {
+    @Override
+    public String transform(String content) {
+      return content;
+    }
+  };
+
+  private static String replace(String content, boolean escapeHtml) {
+    StringBuilder builder = null;
+    int copiedUntil = 0;
+
+    for (int i = 0; i < content.length(); i++) {
+      char c = content.charAt(i);
+      String replacement;
+      int next = i + 1;
+
+      switch (c) {
+        case '\r':
+          if (next < content.length() && content.charAt(next) == '\n') {
+            next++;
+          }
+          replacement = "<br>";
+          break;
+        case '\n':
+          replacement = "<br>";
+          break;
+        case '&':
+          replacement = escapeHtml ? "&amp;" : null;
+          break;
+        case '<':
+          replacement = escapeHtml ? "&lt;" : null;
+          break;
+        case '>':
+          replacement = escapeHtml ? "&gt;" : null;
+          break;
+        case '"':
+          replacement = escapeHtml ? "&quot;" : null;
+          break;
+        case '\'':
+          replacement = escapeHtml ? "&#39;" : null;
+          break;
+        default:
+          replacement = null;
+      }
+
+      if (replacement != null) {
+        if (builder == null) {
+          builder = new StringBuilder(content.length() + 16);
+        }
+        builder.append(content, copiedUntil, i).append(replacement);
+        copiedUntil = next;
+        i = next - 1;
+      }
+    }
+
+    if (builder == null) {
+      return content;
+    }
+
+    return builder.append(content, copiedUntil, content.length()).toString();
+  }
+}
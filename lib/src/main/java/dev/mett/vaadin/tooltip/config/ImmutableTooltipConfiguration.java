@@ -0,0 +1,356 @@
+package dev.mett.vaadin.tooltip.config;
+
+import java.io.ObjectStreamException;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+
+/**
+ * An immutable {@link TooltipConfiguration} which can be shared between any number of tooltips.<br> Instances are interned:
+ * equivalent configurations share one instance, which makes comparing them (almost) free.<br>
+ * <br>
+ * Usage:<code><br>
+ * <br>
+ * ImmutableTooltipConfiguration config = ImmutableTooltipConfiguration.builder()<br> .content("text")<br> .arrow(true)<br>
+ * .build();<br>
+ * </code>
+ *
+ * @author Gerrit Sedlaczek
+ */
+public final class ImmutableTooltipConfiguration extends TooltipConfiguration {
+
+  private static final long serialVersionUID = -6146420627400937816L;
+
+  private static final Map<ImmutableTooltipConfiguration, WeakReference<ImmutableTooltipConfiguration>> internedConfigurations =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  /**
+   * Creates a builder for a new {@link ImmutableTooltipConfiguration}.
+   *
+   * @return {@link Builder}
+   */
+  public static Builder builder() {
+    return new Builder(new TooltipConfiguration());
+  }
+
+  /**
+   * Creates a builder which starts with the values of an existing configuration.
+   *
+   * @param configuration the configuration to start with
+   * @return {@link Builder}
+   */
+  public static Builder builder(TooltipConfiguration configuration) {
+    return new Builder(configuration.clone());
+  }
+
+  /**
+   * Returns the immutable equivalent of a configuration.
+   *
+   * @param configuration {@link TooltipConfiguration}
+   * @return the interned {@link ImmutableTooltipConfiguration}
+   */
+  public static ImmutableTooltipConfiguration of(TooltipConfiguration configuration) {
+    if (configuration instanceof ImmutableTooltipConfiguration) {
+      return (ImmutableTooltipConfiguration) configuration;
+    }
+
+    return intern(new ImmutableTooltipConfiguration(configuration));
+  }
+
+  private static ImmutableTooltipConfiguration intern(ImmutableTooltipConfiguration configuration) {
+    synchronized (internedConfigurations) {
+      WeakReference<ImmutableTooltipConfiguration> reference = internedConfigurations.get(configuration);
+      ImmutableTooltipConfiguration interned = reference != null ? reference.get() : null;
+
+      if (interned == null) {
+        internedConfigurations.put(configuration, new WeakReference<>(configuration));
+        interned = configuration;
+      }
+
+      return interned;
+    }
+  }
+
+  private final String jsonString;
+  private final int jsonHash;
+  /**
+   * Configurations with the same JSON representation still differ by the transformer their content gets rendered with (e.g. a
+   * configuration without any content). Identity hash codes differ between JVMs, hence it is recomputed upon deserialization.
+   */
+  private transient int hash;
+
+  private ImmutableTooltipConfiguration(TooltipConfiguration configuration) {
+    super(configuration);
+
+    this.jsonString = toJson();
+    this.jsonHash = jsonString.hashCode();
+    this.hash = computeHash();
+  }
+
+  private int computeHash() {
+    return 31 * jsonHash + System.identityHashCode(getContentTransformer());
+  }
+
+  /**
+   * @throws UnsupportedOperationException always
+   */
+  @Override
+  protected void beforeChange() {
+    throw new UnsupportedOperationException(
+        "An ImmutableTooltipConfiguration can not be modified. Use clone() to create a modifiable copy.");
+  }
+
+  /* *** GETTER *** */
+
+  // the instance is shared, hence arrays are copied
+
+  @Override
+  public Object getDelay() {
+    return copyArray(super.getDelay());
+  }
+
+  @Override
+  public Object getDuration() {
+    return copyArray(super.getDuration());
+  }
+
+  @Override
+  public Integer[] getOffset() {
+    Integer[] offset = super.getOffset();
+    return offset != null ? offset.clone() : null;
+  }
+
+  @Override
+  public Object getTouch() {
+    return copyArray(super.getTouch());
+  }
+
+  private static Object copyArray(Object value) {
+    return value instanceof Object[] ? ((Object[]) value).clone() : value;
+  }
+
+  @Override
+  public boolean isEquivalentTo(TooltipConfiguration other) {
+    if (other instanceof ImmutableTooltipConfiguration) {
+      ImmutableTooltipConfiguration otherConfiguration = (ImmutableTooltipConfiguration) other;
+      return this == other || jsonHash == otherConfiguration.jsonHash && jsonString.equals(otherConfiguration.jsonString);
+    }
+
+    return super.isEquivalentTo(other);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof ImmutableTooltipConfiguration)) {
+      return false;
+    }
+
+    ImmutableTooltipConfiguration otherConfiguration = (ImmutableTooltipConfiguration) other;
+    return hash == otherConfiguration.hash
+        && jsonString.equals(otherConfiguration.jsonString)
+        && Objects.equals(getContent(), otherConfiguration.getContent())
+        && getContentTransformer() == otherConfiguration.getContentTransformer();
+  }
+
+  /**
+   * Mutable configurations are never equal to immutable ones, which keeps {@link #equals(Object)} symmetric.
+   */
+  @Override
+  protected boolean canEqual(Object other) {
+    return other instanceof ImmutableTooltipConfiguration;
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  private Object readResolve() throws ObjectStreamException {
+    hash = computeHash();
+    return intern(this);
+  }
+
+  /**
+   * Builds an {@link ImmutableTooltipConfiguration}. Every method corresponds to a setter of {@link TooltipConfiguration}.
+   */
+  public static final class Builder {
+
+    private final TooltipConfiguration configuration;
+
+    private Builder(TooltipConfiguration configuration) {
+      this.configuration = configuration;
+    }
+
+    public Builder allowHTML(Boolean allowHTML) {
+      configuration.setAllowHTML(allowHTML);
+      return this;
+    }
+
+    public Builder arrow(Boolean arrow) {
+      configuration.setArrow(arrow);
+      return this;
+    }
+
+    public Builder followCursor(TC_FOLLOW_CURSOR followCursor) {
+      configuration.setFollowCursor(followCursor);
+      return this;
+    }
+
+    public Builder hideOnClick(TC_HIDE_ON_CLICK hideOnClick) {
+      configuration.setHideOnClick(hideOnClick);
+      return this;
+    }
+
+    public Builder ignoreAttributes(Boolean ignoreAttributes) {
+      configuration.setIgnoreAttributes(ignoreAttributes);
+      return this;
+    }
+
+    public Builder inertia(Boolean inertia) {
+      configuration.setInertia(inertia);
+      return this;
+    }
+
+    public Builder interactive(Boolean interactive) {
+      configuration.setInteractive(interactive);
+      return this;
+    }
+
+    public Builder interactiveBorder(Integer interactiveBorder) {
+      configuration.setInteractiveBorder(interactiveBorder);
+      return this;
+    }
+
+    public Builder interactiveDebounce(Integer interactiveDebounce) {
+      configuration.setInteractiveDebounce(interactiveDebounce);
+      return this;
+    }
+
+    public Builder moveTransition(String moveTransition) {
+      configuration.setMoveTransition(moveTransition);
+      return this;
+    }
+
+    public Builder placement(TC_PLACEMENT placement) {
+      configuration.setPlacement(placement);
+      return this;
+    }
+
+    public Builder role(String role) {
+      configuration.setRole(role);
+      return this;
+    }
+
+    public Builder showOnCreate(Boolean showOnCreate) {
+      configuration.setShowOnCreate(showOnCreate);
+      return this;
+    }
+
+    public Builder sticky(TC_STICKY sticky) {
+      configuration.setSticky(sticky);
+      return this;
+    }
+
+    public Builder theme(String theme) {
+      configuration.setTheme(theme);
+      return this;
+    }
+
+    public Builder trigger(String trigger) {
+      configuration.setTrigger(trigger);
+      return this;
+    }
+
+    public Builder zIndex(Integer zIndex) {
+      configuration.setZIndex(zIndex);
+      return this;
+    }
+
+    public Builder appendTo(TC_APPEND_TO appendTo) {
+      configuration.setAppendTo(appendTo);
+      return this;
+    }
+
+    public Builder appendTo(String appendTo) {
+      configuration.setAppendTo(appendTo);
+      return this;
+    }
+
+    public Builder delay(Integer delay) {
+      configuration.setDelay(delay);
+      return this;
+    }
+
+    public Builder delay(Integer showDelay, Integer hideDelay) {
+      configuration.setDelay(showDelay, hideDelay);
+      return this;
+    }
+
+    public Builder duration(Integer duration) {
+      configuration.setDuration(duration);
+      return this;
+    }
+
+    public Builder duration(Integer showDuration, Integer hideDuration) {
+      configuration.setDuration(showDuration, hideDuration);
+      return this;
+    }
+
+    public Builder maxWidth(Integer pixel) {
+      configuration.setMaxWidth(pixel);
+      return this;
+    }
+
+    public Builder maxWidthNone() {
+      configuration.setMaxWidthNone();
+      return this;
+    }
+
+    public Builder offset(int skidding, int distance) {
+      configuration.setOffset(skidding, distance);
+      return this;
+    }
+
+    public Builder content(String content) {
+      configuration.setContent(content);
+      return this;
+    }
+
+    public Builder contentTransformer(TooltipContentTransformer contentTransformer) {
+      configuration.setContentTransformer(contentTransformer);
+      return this;
+    }
+
+    public Builder touch(Boolean supportsTouch) {
+      configuration.setTouch(supportsTouch);
+      return this;
+    }
+
+    public Builder touch(String touchTrigger) {
+      configuration.setTouch(touchTrigger);
+      return this;
+    }
+
+    public Builder touch(String touchTrigger, int duration) {
+      configuration.setTouch(touchTrigger, duration);
+      return this;
+    }
+
+    public Builder addPopperOption(String key, Object value) {
+      configuration.addPopperOption(key, value);
+      return this;
+    }
+
+    /**
+     * @return the interned {@link ImmutableTooltipConfiguration}
+     */
+    public ImmutableTooltipConfiguration build() {
+      return of(configuration);
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package dev.mett.vaadin.tooltip.config;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caches the results of another {@link TooltipContentTransformer} (least recently used entries are evicted).
+ *
+ * @author Gerrit Sedlaczek
+ * @see TooltipContentTransformer#memoized(TooltipContentTransformer)
+ */
+final class MemoizedContentTransformer implements TooltipContentTransformer {
+
+  private static final long serialVersionUID = 3580364016734482925L;
+
+  private static final int MAX_CACHED_CONTENTS = 512;
+
+  private final TooltipContentTransformer transformer;
+  private transient Map<String, String> cache;
+
+  MemoizedContentTransformer(TooltipContentTransformer transformer) {
+    this.transformer = transformer;
+  }
+
+  @Override
+  public String transform(String content) {
+    Map<String, String> results = getCache();
+
+    String result = results.get(content);
+    if (result == null) {
+      result = transformer.transform(content);
+      results.put(content, result);
+    }
+
+    return result;
+  }
+
+  private synchronized Map<String, String> getCache() {
+    // restored lazily after deserialization
+    if (cache == null) {
+      cache = Collections.synchronizedMap(new LinkedHashMap<String, String>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+          return size() > MAX_CACHED_CONTENTS;
+        }
+      });
+    }
+
+    return cache;
+  }
+}
@@ -2,15 +2,15 @@ package dev.mett.vaadin.tooltip.config;
 
 import dev.mett.vaadin.tooltip.Tooltips;
 import dev.mett.vaadin.tooltip.exception.InvalidTooltipContentException;
+import elemental.json.Json;
 import elemental.json.JsonObject;
+import elemental.json.JsonValue;
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import lombok.EqualsAndHashCode;
-import lombok.Getter;
-import lombok.Setter;
-import lombok.ToString;
-import org.apache.commons.lang3.SerializationUtils;
 
 /**
  * Allows you to customize tooltips properties.<br> Documentation: https://atomiks.github.io/tippyjs/v6/all-props/<br>
@@ -21,10 +21,9 @@ import org.apache.commons.lang3.SerializationUtils;
  * @author Gerrit Sedlaczek
  */
 @EqualsAndHashCode
-@ToString
 public class TooltipConfiguration implements Serializable {
 
-  private static final long serialVersionUID = 7099314666522619319L;
+  private static final long serialVersionUID = -2247860693633226081L;
 
   /**
    * Documentation: https://atomiks.github.io/tippyjs/v6/all-props/
@@ -47,29 +46,154 @@ public class TooltipConfiguration implements Serializable {
   }
 
   /**
-   * Creates a deep copy of this configuration
+   * Creates a copy of another configuration.<br> Arrays and popper options are copied as well, while their elements are shared.
    *
-   * @return deep copy
+   * @param other the configuration to copy
+   */
+  public TooltipConfiguration(TooltipConfiguration other) {
+    this.presentProperties = other.presentProperties;
+    this.values = other.values.clone();
+    for (int i = 0; i < values.length; i++) {
+      values[i] = copyValue(values[i]);
+    }
+    this.contentTransformer = other.contentTransformer;
+    this.json = other.json;
+  }
+
+  /**
+   * Creates a copy of this configuration
+   *
+   * @return copy
+   * @see #TooltipConfiguration(TooltipConfiguration)
    */
   public TooltipConfiguration clone() {
-    return SerializationUtils.clone(this);
+    return new TooltipConfiguration(this);
+  }
+
+  private static Object copyValue(Object value) {
+    if (value instanceof Object[]) {
+      return ((Object[]) value).clone();
+    }
+    if (value instanceof Map) {
+      return new HashMap<>((Map<?, ?>) value);
+    }
+    return value;
   }
 
   // TODO: support:
-  // 1. animateFill
+  // 1. animateFill (requires CSS import)
   // 2. animation
   // 3. aria
   // 4. getReferenceClientRect
   // 5. inlinePositioning
 
   /**
-   * Defines if the content is rendered as HTML or plain text
+   * All supported tippy properties. The order determines the order within the JSON representation.
+   */
+  private enum Property {
+    ALLOW_HTML("allowHTML"),
+    APPEND_TO("appendTo"),
+    ARROW("arrow"),
+    CONTENT("content"),
+    DELAY("delay"),
+    DURATION("duration"),
+    FOLLOW_CURSOR("followCursor"),
+    HIDE_ON_CLICK("hideOnClick"),
+    IGNORE_ATTRIBUTES("ignoreAttributes"),
+    INERTIA("inertia"),
+    INTERACTIVE("interactive"),
+    INTERACTIVE_BORDER("interactiveBorder"),
+    INTERACTIVE_DEBOUNCE("interactiveDebounce"),
+    MAX_WIDTH("maxWidth"),
+    MOVE_TRANSITION("moveTransition"),
+    OFFSET("offset"),
+    PLACEMENT("placement"),
+    POPPER_OPTIONS("popperOptions"),
+    ROLE("role"),
+    SHOW_ON_CREATE("showOnCreate"),
+    STICKY("sticky"),
+    THEME("theme"),
+    TOUCH("touch"),
+    TRIGGER("trigger"),
+    Z_INDEX("zIndex");
+
+    private static final Property[] VALUES = values();
+
+    private final String key;
+    private final int bit;
+
+    Property(String key) {
+      this.key = key;
+      this.bit = 1 << ordinal();
+    }
+  }
+
+  /**
+   * Most properties are never set, hence only the ones that are set get stored:<br>
+   * Every set property has its bit (see {@link Property#bit}) set within {@link #presentProperties} while its value is stored in
+   * {@link #values} at the index that equals the number of set properties with a lower bit.
+   */
+  private int presentProperties = Property.ALLOW_HTML.bit | Property.CONTENT.bit;
+  private Object[] values = new Object[]{true, ""};
+
+  private Object get(Property property) {
+    if ((presentProperties & property.bit) == 0) {
+      return null;
+    }
+
+    return values[indexOf(property)];
+  }
+
+  /**
+   * Stores a value (removes the property if it is {@code null}).
+   */
+  private void set(Property property, Object value) {
+    int index = indexOf(property);
+    boolean isPresent = (presentProperties & property.bit) != 0;
+
+    if (value == null) {
+      if (isPresent) {
+        Object[] newValues = new Object[values.length - 1];
+        System.arraycopy(values, 0, newValues, 0, index);
+        System.arraycopy(values, index + 1, newValues, index, values.length - index - 1);
+
+        values = newValues;
+        presentProperties &= ~property.bit;
+      }
+
+    } else if (isPresent) {
+      values[index] = value;
+
+    } else {
+      Object[] newValues = new Object[values.length + 1];
+      System.arraycopy(values, 0, newValues, 0, index);
+      newValues[index] = value;
+      System.arraycopy(values, index, newValues, index + 1, values.length - index);
+
+      values = newValues;
+      presentProperties |= property.bit;
+    }
+  }
+
+  private int indexOf(Property property) {
+    return Integer.bitCount(presentProperties & (property.bit - 1));
+  }
+
+  /**
+   * Renders the source text of {@link Property#CONTENT} when the JSON representation is created.
    */
-  @Getter
-  @Setter
-  private Boolean allowHTML = true;
+  private TooltipContentTransformer contentTransformer = TooltipContentTransformer.NEWLINES_TO_HTML;
 
-//    private boolean animateFill; //TODO: requires CSS import
+  /*
+   * ### GETTER ###
+   */
+
+  /**
+   * Defines if the content is rendered as HTML or plain text
+   */
+  public Boolean getAllowHTML() {
+    return (Boolean) get(Property.ALLOW_HTML);
+  }
 
   /**
    * Defines the element to which the tooltip should be appended.
@@ -81,178 +205,440 @@ public class TooltipConfiguration implements Serializable {
    * <p>
    * See documentation: https://atomiks.github.io/tippyjs/v6/all-props/#appendto
    */
-  @Getter
-  private String appendTo;
+  public String getAppendTo() {
+    return (String) get(Property.APPEND_TO);
+  }
 
   /**
    * Defines if the tooltip points to its parent element
    */
-  @Getter
-  @Setter
-  private Boolean arrow; // TODO: support 1. SVG 2. Element
+  public Boolean getArrow() {
+    // TODO: support 1. SVG 2. Element
+    return (Boolean) get(Property.ARROW);
+  }
 
   /**
-   * This is the tooltips text itself
+   * This is the tooltips text itself (as it was set)
+   *
+   * @see #getRenderedContent()
    */
-  @Getter
-  private String content = "";
+  public String getContent() {
+    return (String) get(Property.CONTENT);
+  }
 
-  @Getter
-  private Object delay;
+  /**
+   * The tooltips text as it is sent to the client
+   *
+   * @see #setContentTransformer(TooltipContentTransformer)
+   */
+  public String getRenderedContent() {
+    return contentTransformer.transform(getContent());
+  }
+
+  public TooltipContentTransformer getContentTransformer() {
+    return contentTransformer;
+  }
+
+  public Object getDelay() {
+    return get(Property.DELAY);
+  }
 
-  @Getter
-  private Object duration;
+  public Object getDuration() {
+    return get(Property.DURATION);
+  }
 
   /**
    * Defines the position of a tooltip relative to its element and the cursor.
    * <p>
    * Documentation: https://atomiks.github.io/tippyjs/v6/all-props/#followcursor
    */
-  @Getter
-  @Setter
-  private TC_FOLLOW_CURSOR followCursor;
+  public TC_FOLLOW_CURSOR getFollowCursor() {
+    return (TC_FOLLOW_CURSOR) get(Property.FOLLOW_CURSOR);
+  }
 
   /**
    * Determines when the tooltip is shown / hidden.
    * <p>
    * Documentation: https://atomiks.github.io/tippyjs/v6/all-props/#followcursor
    */
-  @Getter
-  @Setter
-  private TC_HIDE_ON_CLICK hideOnClick;
+  public TC_HIDE_ON_CLICK getHideOnClick() {
+    return (TC_HIDE_ON_CLICK) get(Property.HIDE_ON_CLICK);
+  }
 
   /**
    * When using UI (component) libraries like React, this is generally not necessary and slows down initialization perf a bit. | false by
    * default
    */
-  @Getter
-  @Setter
-  private Boolean ignoreAttributes;
+  public Boolean getIgnoreAttributes() {
+    return (Boolean) get(Property.IGNORE_ATTRIBUTES);
+  }
 
   /**
    * Determines if a spring-like animation is applied to the transition animation
    */
-  @Getter
-  @Setter
-  private Boolean inertia;
+  public Boolean getInertia() {
+    return (Boolean) get(Property.INERTIA);
+  }
 
   /**
    * Defines if content of a tooltip can be selected
    */
-  @Getter
-  @Setter
-  private Boolean interactive;
+  public Boolean getInteractive() {
+    return (Boolean) get(Property.INTERACTIVE);
+  }
 
   /**
    * Defines the invisible space around the tooltip whithin which the mouse wont leave the tooltip (in px)
    */
-  @Getter
-  @Setter
-  private Integer interactiveBorder;
+  public Integer getInteractiveBorder() {
+    return (Integer) get(Property.INTERACTIVE_BORDER);
+  }
 
   /**
    * The time in ms until the tooltip disappears after the mouse left the tooltips area
    */
-  @Getter
-  @Setter
-  private Integer interactiveDebounce;
+  public Integer getInteractiveDebounce() {
+    return (Integer) get(Property.INTERACTIVE_DEBOUNCE);
+  }
 
-  @Getter
-  private Object maxWidth;
+  public Object getMaxWidth() {
+    return get(Property.MAX_WIDTH);
+  }
 
   /**
    * Describes the transition between position updates of a tooltip (see: https://developer.mozilla.org/en-US/docs/Web/CSS/CSS_Transitions/Using_CSS_transitions)
    */
-  @Getter
-  @Setter
-  private String moveTransition;
+  public String getMoveTransition() {
+    return (String) get(Property.MOVE_TRANSITION);
+  }
 
-  @Getter
-  private Integer[] offset;
+  public Integer[] getOffset() {
+    return (Integer[]) get(Property.OFFSET);
+  }
 
   /**
    * Declares the preferred placement of the tooltip.
    * <p>
    * Documentation: https://atomiks.github.io/tippyjs/v6/all-props/#delay
    */
-  @Getter
-  @Setter
-  private TC_PLACEMENT placement;
+  public TC_PLACEMENT getPlacement() {
+    return (TC_PLACEMENT) get(Property.PLACEMENT);
+  }
 
   /**
-   * Define arbitrary popper options
+   * Define arbitrary popper options (read-only, see: {@link #addPopperOption(String, Object)})
    * <p>
    * Documentation: https://atomiks.github.io/tippyjs/v6/all-props/#popperoptions
    */
-  @Getter
-  private Map<String, Object> popperOptions;
+  public Map<String, Object> getPopperOptions() {
+    Map<String, Object> popperOptions = getModifiablePopperOptions();
+    return popperOptions != null ? Collections.unmodifiableMap(popperOptions) : null;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> getModifiablePopperOptions() {
+    return (Map<String, Object>) get(Property.POPPER_OPTIONS);
+  }
 
   /**
    * Specifies the role attribute on the tippy element
    */
-  @Getter
-  @Setter
-  private String role;
+  public String getRole() {
+    return (String) get(Property.ROLE);
+  }
 
   /**
    * If the tooltip should be shown right after its creation
    */
-  @Getter
-  @Setter
-  private Boolean showOnCreate;
+  public Boolean getShowOnCreate() {
+    return (Boolean) get(Property.SHOW_ON_CREATE);
+  }
 
   /**
    * Determines if the tippy sticks to the reference element while it is mounted.
    * <p>
    * Documentation: https://atomiks.github.io/tippyjs/v6/all-props/#sticky
    */
-  @Getter
-  @Setter
-  private TC_STICKY sticky;
+  public TC_STICKY getSticky() {
+    return (TC_STICKY) get(Property.STICKY);
+  }
 
   /**
    * Determines the theme of the tippy element
    */
-  @Getter
-  @Setter
-  private String theme;
+  public String getTheme() {
+    return (String) get(Property.THEME);
+  }
 
   /**
    * Determines the behavior on touch devices.
    */
-  @Getter
-  private Object touch;
+  public Object getTouch() {
+    return get(Property.TOUCH);
+  }
 
   /**
    * JS events that should trigger opening the tooltip (separated by spaces)
    */
-  @Getter
-  @Setter
-  private String trigger;
+  public String getTrigger() {
+    return (String) get(Property.TRIGGER);
+  }
 
   /**
    * Specifies the z-index CSS on the root popper node
    */
-  @Getter
-  @Setter
-  private Integer zIndex;
+  public Integer getZIndex() {
+    return (Integer) get(Property.Z_INDEX);
+  }
+
+  /**
+   * Cache of {@link #toJson()}, never handed out as configurations may be shared (see: {@link ImmutableTooltipConfiguration})
+   */
+  @EqualsAndHashCode.Exclude
+  private transient String json;
 
 
+  /**
+   * The JSON representation of this configuration.<br> The returned object is a copy, modifying it does not affect the
+   * configuration.
+   *
+   * @return JSON representation
+   */
   public JsonObject toJsonObject() {
-    return (JsonObject) TooltipConfigurationJsonSerializer.toJson(this);
+    return Json.parse(toJson());
+  }
+
+  /**
+   * The serialized JSON representation of this configuration. It is only created again after the configuration changed.
+   *
+   * @return JSON representation
+   */
+  public String toJson() {
+    if (json == null) {
+      json = createJsonObject().toJson();
+    }
+
+    return json;
+  }
+
+  private JsonObject createJsonObject() {
+    JsonObject jsonObject = Json.createObject();
+
+    int index = 0;
+    for (Property property : Property.VALUES) {
+      if ((presentProperties & property.bit) != 0) {
+        Object value = values[index++];
+        JsonValue jsonValue = TooltipConfigurationJsonSerializer.toJson(
+            property == Property.CONTENT ? contentTransformer.transform((String) value) : value);
+        if (jsonValue != null) {
+          jsonObject.put(property.key, jsonValue);
+        }
+      }
+    }
+
+    return jsonObject;
+  }
+
+  /**
+   * Has to be called by every method before it changes the configuration.<br> Discards the cached JSON representation.
+   */
+  protected void beforeChange() {
+    json = null;
+  }
+
+  /**
+   * Compares the configurations by their JSON representation (arrays by their content).
+   *
+   * @param other {@link TooltipConfiguration}
+   * @return true if both configurations result in the same tooltip
+   */
+  public boolean isEquivalentTo(TooltipConfiguration other) {
+    return other != null
+        && (this == other || toJson().equals(other.toJson()));
   }
 
   /*
    * ### SETTER ###
    */
 
+  /**
+   * Defines if the content is rendered as HTML or plain text
+   *
+   * @param allowHTML value
+   */
+  public void setAllowHTML(Boolean allowHTML) {
+    beforeChange();
+    set(Property.ALLOW_HTML, allowHTML);
+  }
+
+  /**
+   * Defines if the tooltip points to its parent element
+   *
+   * @param arrow value
+   */
+  public void setArrow(Boolean arrow) {
+    beforeChange();
+    set(Property.ARROW, arrow);
+  }
+
+  /**
+   * Defines the position of a tooltip relative to its element and the cursor.
+   *
+   * @param followCursor value
+   */
+  public void setFollowCursor(TC_FOLLOW_CURSOR followCursor) {
+    beforeChange();
+    set(Property.FOLLOW_CURSOR, followCursor);
+  }
+
+  /**
+   * Determines when the tooltip is shown / hidden.
+   *
+   * @param hideOnClick value
+   */
+  public void setHideOnClick(TC_HIDE_ON_CLICK hideOnClick) {
+    beforeChange();
+    set(Property.HIDE_ON_CLICK, hideOnClick);
+  }
+
+  /**
+   * When using UI (component) libraries like React, this is generally not necessary and slows down initialization perf a bit.
+   *
+   * @param ignoreAttributes value
+   */
+  public void setIgnoreAttributes(Boolean ignoreAttributes) {
+    beforeChange();
+    set(Property.IGNORE_ATTRIBUTES, ignoreAttributes);
+  }
+
+  /**
+   * Determines if a spring-like animation is applied to the transition animation
+   *
+   * @param inertia value
+   */
+  public void setInertia(Boolean inertia) {
+    beforeChange();
+    set(Property.INERTIA, inertia);
+  }
+
+  /**
+   * Defines if content of a tooltip can be selected
+   *
+   * @param interactive value
+   */
+  public void setInteractive(Boolean interactive) {
+    beforeChange();
+    set(Property.INTERACTIVE, interactive);
+  }
+
+  /**
+   * Defines the invisible space around the tooltip whithin which the mouse wont leave the tooltip (in px)
+   *
+   * @param interactiveBorder value
+   */
+  public void setInteractiveBorder(Integer interactiveBorder) {
+    beforeChange();
+    set(Property.INTERACTIVE_BORDER, interactiveBorder);
+  }
+
+  /**
+   * The time in ms until the tooltip disappears after the mouse left the tooltips area
+   *
+   * @param interactiveDebounce value
+   */
+  public void setInteractiveDebounce(Integer interactiveDebounce) {
+    beforeChange();
+    set(Property.INTERACTIVE_DEBOUNCE, interactiveDebounce);
+  }
+
+  /**
+   * Describes the transition between position updates of a tooltip
+   *
+   * @param moveTransition value
+   */
+  public void setMoveTransition(String moveTransition) {
+    beforeChange();
+    set(Property.MOVE_TRANSITION, moveTransition);
+  }
+
+  /**
+   * Declares the preferred placement of the tooltip.
+   *
+   * @param placement value
+   */
+  public void setPlacement(TC_PLACEMENT placement) {
+    beforeChange();
+    set(Property.PLACEMENT, placement);
+  }
+
+  /**
+   * Specifies the role attribute on the tippy element
+   *
+   * @param role value
+   */
+  public void setRole(String role) {
+    beforeChange();
+    set(Property.ROLE, role);
+  }
+
+  /**
+   * If the tooltip should be shown right after its creation
+   *
+   * @param showOnCreate value
+   */
+  public void setShowOnCreate(Boolean showOnCreate) {
+    beforeChange();
+    set(Property.SHOW_ON_CREATE, showOnCreate);
+  }
+
+  /**
+   * Determines if the tippy sticks to the reference element while it is mounted.
+   *
+   * @param sticky value
+   */
+  public void setSticky(TC_STICKY sticky) {
+    beforeChange();
+    set(Property.STICKY, sticky);
+  }
+
+  /**
+   * Determines the theme of the tippy element
+   *
+   * @param theme value
+   */
+  public void setTheme(String theme) {
+    beforeChange();
+    set(Property.THEME, theme);
+  }
+
+  /**
+   * JS events that should trigger opening the tooltip (separated by spaces)
+   *
+   * @param trigger value
+   */
+  public void setTrigger(String trigger) {
+    beforeChange();
+    set(Property.TRIGGER, trigger);
+  }
+
+  /**
+   * Specifies the z-index CSS on the root popper node
+   *
+   * @param zIndex value
+   */
+  public void setZIndex(Integer zIndex) {
+    beforeChange();
+    set(Property.Z_INDEX, zIndex);
+  }
+
   /**
    * The element to which the tooltip should be appended
    *
    * @param appendTo option
    */
   public void setAppendTo(TC_APPEND_TO appendTo) {
-    this.appendTo = appendTo != null ? appendTo.getValue(): null;
+    beforeChange();
+    set(Property.APPEND_TO, appendTo != null ? appendTo.getValue(): null);
   }
 
   /**
@@ -268,7 +654,8 @@ public class TooltipConfiguration implements Serializable {
    * @param appendTo value
    */
   public void setAppendTo(String appendTo) {
-    this.appendTo = appendTo;
+    beforeChange();
+    set(Property.APPEND_TO, appendTo);
   }
 
   /**
@@ -277,7 +664,8 @@ public class TooltipConfiguration implements Serializable {
    * @param delay ms (in/out)
    */
   public void setDelay(Integer delay) {
-    this.delay = delay;
+    beforeChange();
+    set(Property.DELAY, delay);
   }
 
   /**
@@ -287,7 +675,8 @@ public class TooltipConfiguration implements Serializable {
    * @param hideDelay ms(out)
    */
   public void setDelay(Integer showDelay, Integer hideDelay) {
-    this.delay = new Integer[]{showDelay, hideDelay};
+    beforeChange();
+    set(Property.DELAY, new Integer[]{showDelay, hideDelay});
   }
 
   /**
@@ -296,7 +685,8 @@ public class TooltipConfiguration implements Serializable {
    * @param duration ms (in/out)
    */
   public void setDuration(Integer duration) {
-    this.duration = duration;
+    beforeChange();
+    set(Property.DURATION, duration);
   }
 
   /**
@@ -306,7 +696,8 @@ public class TooltipConfiguration implements Serializable {
    * @param hideDuration ms (out)
    */
   public void setDuration(Integer showDuration, Integer hideDuration) {
-    this.duration = new Integer[]{showDuration, hideDuration};
+    beforeChange();
+    set(Property.DURATION, new Integer[]{showDuration, hideDuration});
   }
 
   /**
@@ -315,14 +706,16 @@ public class TooltipConfiguration implements Serializable {
    * @param pixel max width
    */
   public void setMaxWidth(Integer pixel) {
-    this.maxWidth = pixel;
+    beforeChange();
+    set(Property.MAX_WIDTH, pixel);
   }
 
   /**
    * Removes the maximum width limit of the tooltip.
    */
   public void setMaxWidthNone() {
-    this.maxWidth = "none";
+    beforeChange();
+    set(Property.MAX_WIDTH, "none");
   }
 
   /**
@@ -332,7 +725,8 @@ public class TooltipConfiguration implements Serializable {
    * @param distance see: https://popper.js.org/docs/v2/modifiers/offset/#distance
    */
   public void setOffset(int skidding, int distance) {
-    this.offset = new Integer[]{skidding, distance};
+    beforeChange();
+    set(Property.OFFSET, new Integer[]{skidding, distance});
   }
 
   /**
@@ -345,9 +739,24 @@ public class TooltipConfiguration implements Serializable {
           throw new InvalidTooltipContentException("The content of a tooltip may never be null or empty");
       }
 
-    // newlines to html
-    content = content.replaceAll("(\\r\\n|\\r|\\n)", "<br>");
-    this.content = content;
+    beforeChange();
+    set(Property.CONTENT, content);
+  }
+
+  /**
+   * Defines how the content is rendered before it is sent to the client (default: {@link
+   * TooltipContentTransformer#NEWLINES_TO_HTML}).<br> Wrap costly transformers using {@link
+   * TooltipContentTransformer#memoized(TooltipContentTransformer)}.
+   *
+   * @param contentTransformer {@link TooltipContentTransformer}
+   */
+  public void setContentTransformer(TooltipContentTransformer contentTransformer) {
+    if (contentTransformer == null) {
+      throw new IllegalArgumentException("Tooltips4Vaadin requires a content transformer");
+    }
+
+    beforeChange();
+    this.contentTransformer = contentTransformer;
   }
 
   /**
@@ -358,7 +767,8 @@ public class TooltipConfiguration implements Serializable {
    * @param supportsTouch if touch input triggers a tooltip (default = true)
    */
   public void setTouch(Boolean supportsTouch) {
-    this.touch = supportsTouch;
+    beforeChange();
+    set(Property.TOUCH, supportsTouch);
   }
 
   /**
@@ -369,7 +779,8 @@ public class TooltipConfiguration implements Serializable {
    * @param touchTrigger the type of touch trigger
    */
   public void setTouch(String touchTrigger) {
-    this.touch = touchTrigger;
+    beforeChange();
+    set(Property.TOUCH, touchTrigger);
   }
 
   /**
@@ -381,7 +792,8 @@ public class TooltipConfiguration implements Serializable {
    * @param duration     the it takes to trigger an action
    */
   public void setTouch(String touchTrigger, int duration) {
-    this.touch = new Object[]{touchTrigger, duration};
+    beforeChange();
+    set(Property.TOUCH, new Object[]{touchTrigger, duration});
   }
 
   /**
@@ -393,10 +805,32 @@ public class TooltipConfiguration implements Serializable {
    * @see <a href="https://atomiks.github.io/tippyjs/v6/all-props/#popperoptions">Official Documentation</a>
    */
   public void addPopperOption(String key, Object value) {
+    beforeChange();
+    Map<String, Object> popperOptions = getModifiablePopperOptions();
     if(popperOptions == null) {
       popperOptions = new HashMap<>();
+      set(Property.POPPER_OPTIONS, popperOptions);
     }
 
     popperOptions.put(key, value);
   }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder(getClass().getSimpleName()).append('(');
+
+    int index = 0;
+    for (Property property : Property.VALUES) {
+      if ((presentProperties & property.bit) != 0) {
+        Object value = values[index++];
+        if (index > 1) {
+          builder.append(", ");
+        }
+        builder.append(property.key).append('=')
+            .append(value instanceof Object[] ? Arrays.deepToString((Object[]) value) : value);
+      }
+    }
+
+    return builder.append(')').toString();
+  }
 }
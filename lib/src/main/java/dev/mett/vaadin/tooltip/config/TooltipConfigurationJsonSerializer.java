@@ -4,17 +4,23 @@ import com.vaadin.flow.component.JsonSerializable;
 import elemental.json.Json;
 import elemental.json.JsonArray;
 import elemental.json.JsonFactory;
+import elemental.json.JsonNull;
 import elemental.json.JsonObject;
 import elemental.json.JsonValue;
 import elemental.json.impl.JreJsonFactory;
 import elemental.json.impl.JreJsonNull;
 import elemental.json.impl.JreJsonObject;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.Optional;
 import java.util.logging.Logger;
 
 public class TooltipConfigurationJsonSerializer {
@@ -22,6 +28,16 @@ public class TooltipConfigurationJsonSerializer {
   private final static Logger log = Logger.getLogger(TooltipConfigurationJsonSerializer.class.getName());
   private final static JsonFactory jsonFactory = new JreJsonFactory();
 
+  /**
+   * The field accessors of every serialized class. They are only computed once per class.
+   */
+  private final static ClassValue<FieldAccessor[]> fieldAccessors = new ClassValue<>() {
+    @Override
+    protected FieldAccessor[] computeValue(Class<?> clazz) {
+      return createFieldAccessors(clazz);
+    }
+  };
+
   public static JsonValue toJson(Object bean) {
     return toJson(bean, false);
   }
@@ -40,9 +56,9 @@ public class TooltipConfigurationJsonSerializer {
       return fromMapUnchecked(bean);
     }
 
-    Optional<JsonValue> simpleType = tryToConvertToSimpleType(bean);
-    if (simpleType.isPresent()) {
-      return simpleType.get();
+    JsonValue simpleType = tryToConvertToSimpleType(bean);
+    if (simpleType != null) {
+      return simpleType;
     }
 
     if (bean instanceof JsonConvertible) {
@@ -57,44 +73,80 @@ public class TooltipConfigurationJsonSerializer {
     if (bean instanceof JsonValue) {
       return (JsonValue) bean;
     }
+    if (bean instanceof TooltipConfiguration) {
+      return ((TooltipConfiguration) bean).toJsonObject();
+    }
 
     return fromFields(bean);
   }
 
-  private static <T> JsonObject fromFields(T bean) {
-    return fromFields(bean, bean.getClass());
+  /**
+   * Creates a patch which turns the previous JSON object into the current one.<br> Properties which got removed are contained
+   * as {@link JsonNull}.
+   *
+   * @param previous the JSON object the patch is supposed to be applied to
+   * @param current  the JSON object the patch is supposed to result in
+   * @return the properties that differ (empty if both are equal)
+   */
+  public static JsonObject diff(JsonObject previous, JsonObject current) {
+    JsonObject patch = Json.createObject();
+
+    for (String key : current.keys()) {
+      JsonValue value = current.get(key);
+      if (!previous.hasKey(key) || !previous.get(key).toJson().equals(value.toJson())) {
+        patch.put(key, value);
+      }
+    }
+    for (String key : previous.keys()) {
+      if (!current.hasKey(key)) {
+        patch.put(key, Json.createNull());
+      }
+    }
+
+    return patch;
   }
 
-  private static <T> JsonObject fromFields(T bean, Class<? extends T> clazz) {
-    JsonObject json;
-    Class<?> superclass = clazz.getSuperclass();
+  private static JsonObject fromFields(Object bean) {
+    JsonObject json = new JreJsonObject(jsonFactory);
 
-    if (superclass == Object.class) {
-      json = new JreJsonObject(jsonFactory);
+    for (FieldAccessor accessor : fieldAccessors.get(bean.getClass())) {
+      JsonValue value = toJson(accessor.get(bean), false);
+      if (value != null) {
+        json.put(accessor.name, value);
+      }
+    }
 
-      for (Field field : clazz.getDeclaredFields()) {
-        String fieldName = field.getName();
-          if (fieldName.equals("serialVersionUID")) {
-              continue;
-          }
+    return json;
+  }
 
-        field.setAccessible(true);
-        try {
-          JsonValue value = toJson(field.get(bean), false);
-            if (value != null) {
-                json.put(fieldName, value);
-            }
-
-        } catch (IllegalArgumentException | IllegalAccessException e) {
-          log.warning("Failed to convert field=" + field + " of bean=" + bean);
-        }
+  /**
+   * Only the fields of the topmost class (directly beneath {@link Object}) get serialized.
+   */
+  private static FieldAccessor[] createFieldAccessors(Class<?> clazz) {
+    Class<?> superclass = clazz.getSuperclass();
+    if (superclass != null && superclass != Object.class) {
+      return fieldAccessors.get(superclass);
+    }
+
+    List<FieldAccessor> accessors = new ArrayList<>();
+    for (Field field : clazz.getDeclaredFields()) {
+      if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())) {
+        continue;
       }
 
-    } else {
-      json = fromFields(bean, superclass);
+      try {
+        field.setAccessible(true);
+        MethodHandle getter = MethodHandles.lookup()
+            .unreflectGetter(field)
+            .asType(MethodType.methodType(Object.class, Object.class));
+        accessors.add(new FieldAccessor(field.getName(), getter));
+
+      } catch (RuntimeException | IllegalAccessException e) {
+        log.warning("Failed to access field=" + field + " of class=" + clazz);
+      }
     }
 
-    return json;
+    return accessors.toArray(new FieldAccessor[0]);
   }
 
   public static JsonArray fromCollection(Collection<?> beans) {
@@ -137,19 +189,40 @@ public class TooltipConfigurationJsonSerializer {
     return json;
   }
 
-  private static Optional<JsonValue> tryToConvertToSimpleType(Object bean) {
+  private static JsonValue tryToConvertToSimpleType(Object bean) {
     if (bean instanceof String) {
-      return Optional.of(Json.create((String) bean));
+      return Json.create((String) bean);
     }
     if (bean instanceof Number) {
-      return Optional.of(Json.create(((Number) bean).doubleValue()));
+      return Json.create(((Number) bean).doubleValue());
     }
     if (bean instanceof Boolean) {
-      return Optional.of(Json.create((Boolean) bean));
+      return Json.create((Boolean) bean);
     }
     if (bean instanceof Character) {
-      return Optional.of(Json.create(Character.toString((char) bean)));
+      return Json.create(Character.toString((char) bean));
+    }
+    return null;
+  }
+
+  private static final class FieldAccessor {
+
+    private final String name;
+    private final MethodHandle getter;
+
+    private FieldAccessor(String name, MethodHandle getter) {
+      this.name = name;
+      this.getter = getter;
+    }
+
+    private Object get(Object bean) {
+      try {
+        return (Object) getter.invokeExact(bean);
+
+      } catch (Throwable e) {
+        log.warning("Failed to convert field=" + name + " of bean=" + bean);
+        return null;
+      }
     }
-    return Optional.empty();
   }
 }
@@ -0,0 +1,53 @@
+package dev.mett.vaadin.tooltip.config;
+
+import java.io.Serializable;
+
+/**
+ * Turns the text passed to {@link TooltipConfiguration#setContent(String)} into the content which is sent to the client.<br>
+ * The source text is kept by the configuration, hence the transformation only runs when the JSON representation is created.
+ *
+ * @author Gerrit Sedlaczek
+ * @see TooltipConfiguration#setContentTransformer(TooltipContentTransformer)
+ */
+@FunctionalInterface
+public interface TooltipContentTransformer extends Serializable {
+
+  /**
+   * Converts line breaks (\r\n, \r, \n) into {@code <br>} (default)
+   */
+  TooltipContentTransformer NEWLINES_TO_HTML = ContentTransformers.NEWLINES_TO_HTML;
+
+  /**
+   * Escapes HTML special characters and converts line breaks into {@code <br>}.<br> Use it to display untrusted plain text.
+   */
+  TooltipContentTransformer ESCAPE_HTML = ContentTransformers.ESCAPE_HTML;
+
+  /**
+   * Sends the content as it is
+   */
+  TooltipContentTransformer NONE = ContentTransformers.NONE;
+
+  /**
+   * @param content the source text (never {@code null})
+   * @return the content sent to the client
+   */
+  String transform(String content);
+
+  /**
+   * Wraps a (costly) transformer, e.g. a markdown renderer, so that it runs only once per distinct text.<br> The most recently
+   * used results are kept in a bounded cache that is shared by every configuration using the returned transformer.
+   *
+   * @param transformer the transformer to wrap
+   * @return memoizing {@link TooltipContentTransformer}
+   */
+  static TooltipContentTransformer memoized(TooltipContentTransformer transformer) {
+    if (transformer == null) {
+      throw new IllegalArgumentException("Tooltips4Vaadin requires a transformer to memoize");
+    }
+    if (transformer instanceof ContentTransformers || transformer instanceof MemoizedContentTransformer) {
+      return transformer;
+    }
+
+    return new MemoizedContentTransformer(transformer);
+  }
+}
@@ -1,12 +1,8 @@
 package dev.mett.vaadin.tooltip.service;
 
-import com.vaadin.flow.component.UI;
 import com.vaadin.flow.server.ServiceInitEvent;
 import com.vaadin.flow.server.VaadinServiceInitListener;
 import dev.mett.vaadin.tooltip.Tooltips;
-import dev.mett.vaadin.tooltip.exception.TooltipsAlreadyInitializedException;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 /**
  * This class provides an easy way to setup this library.<br> When
@@ -14,7 +10,10 @@ import java.util.logging.Logger;
  * gets added to a VaadinServiceInitListener file this code will execute upon UI initialisation.<br> Take a look at the documentation link
  * below to learn more about services.<br>
  * <br>
- * By default this will be done by this plugin.
+ * By default this will be done by this plugin. However {@link Tooltips} get initialized lazily upon their first use (see
+ * {@link Tooltips#get(com.vaadin.flow.component.UI)}), hence UIs without any tooltip do not carry them at all.<br> Setting the
+ * property <code>tooltips4vaadin.eagerInitialization</code> (e.g. as an init parameter) to <code>true</code> initializes
+ * them for every UI instead.
  *
  * @author Gerrit Sedlaczek
  * @see <a href="https://vaadin.com/docs/v14/flow/advanced/tutorial-service-init-listener.html">Vaadin documentation
@@ -23,21 +22,18 @@ import java.util.logging.Logger;
 public class TooltipsInitService implements VaadinServiceInitListener {
 
   private static final long serialVersionUID = -3190377936113384605L;
-  private final Logger log = Logger.getLogger(TooltipsInitService.class.getName());
+
+  public static final String EAGER_INITIALIZATION_PROPERTY = "tooltips4vaadin.eagerInitialization";
 
   @Override
   public void serviceInit(ServiceInitEvent event) {
-    event.getSource().addUIInitListener(uiInit -> {
-      final UI ui = uiInit.getUI();
-      try {
-        if(Tooltips.get(ui) == null) {
-          new Tooltips(ui);
-        }
+    boolean eagerInitialization = event.getSource()
+        .getDeploymentConfiguration()
+        .getBooleanProperty(EAGER_INITIALIZATION_PROPERTY, false);
 
-      } catch (TooltipsAlreadyInitializedException e) {
-        log.log(Level.WARNING, "You have already initialized Tooltips for this UI: " + ui, new Throwable().fillInStackTrace());
-      }
-    });
+    if (eagerInitialization) {
+      event.getSource().addUIInitListener(uiInit -> Tooltips.get(uiInit.getUI()));
+    }
   }
 
 }
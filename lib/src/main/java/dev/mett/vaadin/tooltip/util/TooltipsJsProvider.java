@@ -1,24 +1,68 @@
 package dev.mett.vaadin.tooltip.util;
 
+import com.vaadin.flow.component.ClientCallable;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.Tag;
-import com.vaadin.flow.component.dependency.CssImport;
 import com.vaadin.flow.component.dependency.JsModule;
 import com.vaadin.flow.component.dependency.NpmPackage;
+import com.vaadin.flow.function.SerializableBiConsumer;
+import com.vaadin.flow.function.SerializableFunction;
+import elemental.json.JsonArray;
+import java.util.ArrayList;
+import java.util.List;
 
 // NOTE: Vaadin for some reason does not remember 'tippy.js' upon building a project that uses this plugin
 //       Therefore it needs to be redeclared in pom.xml
+// NOTE: tooltips.js loads tippy.js and its stylesheet on demand (separate chunk), hence there is no @CssImport
 @NpmPackage(value = "tippy.js", version = "6.3.1")
-@NpmPackage(value = "retry", version = "0.12.0")
 @JsModule("./js/tooltip/tooltips.js")
-@CssImport("tippy.js/dist/tippy.css")
 @Tag("div")
 /**
- * Responsible for including this plugins JS and CSS resources when deploying.
+ * Responsible for including this plugins JS resources when deploying (tippy.js and its CSS are loaded once the first tooltip
+ * gets registered).<br> The frontend uses its element to fetch lazily
+ * provided tooltip contents from the server.
  *
  * @author Gerrit Sedlaczek
  */
 public class TooltipsJsProvider extends Component {
 
   private static final long serialVersionUID = 3079421969338830944L;
-}
\ No newline at end of file
+
+  private final SerializableFunction<String, String> lazyContentProvider;
+  private final SerializableBiConsumer<List<String>, List<String>> openStateListener;
+
+  public TooltipsJsProvider() {
+    this(frontendId -> null, (opened, closed) -> { /* not tracked */ });
+  }
+
+  /**
+   * @param lazyContentProvider provides the content of a tooltip by its frontend id ({@code null} if there is none)
+   * @param openStateListener   receives the frontend ids of the tooltips which got opened / closed
+   */
+  public TooltipsJsProvider(
+      SerializableFunction<String, String> lazyContentProvider,
+      SerializableBiConsumer<List<String>, List<String>> openStateListener) {
+    this.lazyContentProvider = lazyContentProvider;
+    this.openStateListener = openStateListener;
+
+    addAttachListener(evt -> getElement().executeJs("window.tooltips.registerProvider(this)"));
+  }
+
+  @ClientCallable
+  private String fetchLazyContent(String frontendId) {
+    return lazyContentProvider.apply(frontendId);
+  }
+
+  @ClientCallable
+  private void reportOpenStates(JsonArray opened, JsonArray closed) {
+    openStateListener.accept(toList(opened), toList(closed));
+  }
+
+  private static List<String> toList(JsonArray frontendIds) {
+    List<String> list = new ArrayList<>();
+    for (int i = 0; i < frontendIds.length(); i++) {
+      list.add(frontendIds.getString(i));
+    }
+    return list;
+  }
+}
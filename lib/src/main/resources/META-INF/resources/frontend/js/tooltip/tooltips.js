@@ -1,97 +1,445 @@
-import tippy, {followCursor, hideAll, sticky} from 'tippy.js';
-import 'tippy.js/dist/tippy.css';
-import retry from 'retry';
+/* tippy.js and its stylesheet are only loaded once the first tooltip requires them (see: _loadTippy) */
+let tippy, createSingleton, delegate, followCursor, hideAll, sticky;
 
 window.tooltips = {
+  /* named base configurations (see: registerTemplates) */
+  templates: {},
+  /* groupId -> {elements, props, singleton} (see: setTooltipGroup) */
+  groups: {},
+  /* frontendId -> WeakRef(tooltipElement) of every registered element (see: _indexElement) */
+  _elements: new Map(),
+  /* frontendId -> [{resolve, timeout}] of lookups waiting for their element to appear (see: _getElementFaulttolerant) */
+  _elementWaiters: new Map(),
+  _elementObserver: undefined,
+  /* configKey -> config (without content) of declared tooltips, only registered by the server (see: registerDeclaredConfigs) */
+  _declaredConfigs: new Map(),
+  _declarationObserver: undefined,
+  /* registrations waiting for an idle period: tooltipElement -> {config, resolve} (see: _scheduleRegistration) */
+  _pendingRegistrations: new Map(),
+  _idleCallbackScheduled: false,
+  _viewportObserver: undefined,
+  /* frontendId -> {config, hash} of registered tooltips, kept while their elements are detached (see: reviveTooltips) */
+  _configCache: new Map(),
+  _configCacheLimit: 2000,
+  /* frontendId -> {reference, close} of the tooltips that are currently open (see: _setOpen) */
+  _openTooltips: new Map(),
+  /* the frontend ids the server considers to be open */
+  _reportedOpenTooltips: new Set(),
+  _openStateTimeout: undefined,
+  /* resolves once tippy.js is loaded (see: _loadTippy) */
+  _tippyLoading: undefined,
+  /* the element of TooltipsJsProvider which fetches lazily provided contents from the server */
+  provider: undefined,
+
   /* ### UTIL ### */
 
-  /*
-   * see:
-   *  - https://www.wolframalpha.com/input/?i=Sum%5B100*x%5Ek%2C+%7Bk%2C+0%2C+4%7D%5D+%3D+5+*+1000
-   *  - https://www.wolframalpha.com/input/?i=Sum%5B100*2.3178%5Ek%2C+%7Bk%2C+0%2C+4%7D%5D
-  */
-  _getRetryOperation: function () {
-    return retry.operation({
-      retries: 5,
-      factor: 2.3178,
-      minTimeout: 100,
-      maxTimeout: 1000
-    });
+  _loadTippy: function () {
+    if (!this._tippyLoading) {
+      this._tippyLoading = Promise.all([import('tippy.js'), import('tippy.js/dist/tippy.css')])
+      .then(([tippyModule, tippyStyles]) => {
+        ({createSingleton, delegate, followCursor, hideAll, sticky} = tippyModule);
+        this._pluginArrays = [
+          Object.freeze([this._openStatePlugin]),
+          Object.freeze([this._openStatePlugin, followCursor]),
+          Object.freeze([this._openStatePlugin, sticky]),
+          Object.freeze([this._openStatePlugin, followCursor, sticky])
+        ];
+
+        // the bundler provides the stylesheet as a (lit) css result
+        const style = document.createElement('style');
+        style.textContent = tippyStyles.default.cssText !== undefined ? tippyStyles.default.cssText : tippyStyles.default;
+        document.head.appendChild(style);
+
+        tippy = tippyModule.default;
+      })
+      .catch(err => {
+        // the next call tries again
+        this._tippyLoading = undefined;
+        throw err;
+      });
+    }
+
+    return this._tippyLoading;
+  },
+
+  _indexElement: function (tooltipElement) {
+    const frontendId = tooltipElement.getAttribute('tt4v');
+    if (frontendId) {
+      this._elements.set(frontendId, new WeakRef(tooltipElement));
+    }
   },
 
+  /* an indexed lookup, which unlike querySelector also finds elements within shadow roots */
   _getElement: function (frontendId) {
-    return document.querySelector('[tt4v=' + frontendId + ']');
+    const ref = this._elements.get(frontendId);
+    const element = ref && ref.deref();
+
+    // the attribute might have been moved to another element in the meantime
+    if (element && element.getAttribute('tt4v') === frontendId) {
+      return element;
+    }
+    this._elements.delete(frontendId);
   },
 
+  /* waits (up to 5s) for the element to appear if it is not known yet */
   _getElementFaulttolerant: async function (frontendId) {
-    const operation = this._getRetryOperation();
+    const element = this._getElement(frontendId);
+    if (element) {
+      return element;
+    }
 
     return new Promise((resolve, reject) => {
-      operation.attempt(async function () {
-        const element = window.tooltips._getElement(frontendId);
-        const err = element === undefined || element == null
-            ? "Could not find element for class: " + frontendId : null;
+      const waiter = {resolve: resolve};
+      waiter.timeout = setTimeout(() => {
+        this._removeElementWaiter(frontendId, waiter);
+        reject("Could not find element for class: " + frontendId);
+      }, 5000);
 
-        if (operation.retry(err)) {
-          return;
-        }
+      if (!this._elementWaiters.has(frontendId)) {
+        this._elementWaiters.set(frontendId, []);
+      }
+      this._elementWaiters.get(frontendId).push(waiter);
+      this._observeElements();
+    });
+  },
 
-        if (element) {
-          resolve(element);
+  _observeElements: function () {
+    if (!this._elementObserver) {
+      this._elementObserver = new MutationObserver(records => records.forEach(record => {
+        if (record.type === 'attributes') {
+          this._onElementAppeared(record.target);
         } else {
-          reject(operation.mainError());
+          record.addedNodes.forEach(node => {
+            if (node.nodeType === Node.ELEMENT_NODE) {
+              this._onElementAppeared(node);
+              node.querySelectorAll('[tt4v]').forEach(child => this._onElementAppeared(child));
+            }
+          });
         }
-      })
+      }));
+    }
+
+    // observing is only active while lookups are waiting
+    this._elementObserver.observe(document.body,
+        {subtree: true, childList: true, attributes: true, attributeFilter: ['tt4v']});
+  },
+
+  _onElementAppeared: function (element) {
+    const frontendId = element.getAttribute('tt4v');
+    const waiters = frontendId && this._elementWaiters.get(frontendId);
+    if (!waiters) {
+      return;
+    }
+
+    this._indexElement(element);
+    waiters.forEach(waiter => {
+      clearTimeout(waiter.timeout);
+      waiter.resolve(element);
     });
+    this._elementWaiters.delete(frontendId);
+    this._disconnectElementObserverIfIdle();
+  },
+
+  _removeElementWaiter: function (frontendId, waiter) {
+    const waiters = this._elementWaiters.get(frontendId) || [];
+    const remaining = waiters.filter(other => other !== waiter);
+    if (remaining.length > 0) {
+      this._elementWaiters.set(frontendId, remaining);
+    } else {
+      this._elementWaiters.delete(frontendId);
+    }
+    this._disconnectElementObserverIfIdle();
+  },
+
+  _disconnectElementObserverIfIdle: function () {
+    if (this._elementWaiters.size === 0 && this._elementObserver) {
+      this._elementObserver.disconnect();
+    }
   },
 
+  /* the plugin combinations (index: followCursor = 1, sticky = 2) are shared by all tooltips, tippy does not modify them */
+  _pluginArrays: undefined,
+
   _setupTippyPlugins: function (config) {
-    config.plugins = [];
+    config.plugins = this._pluginArrays[(config.followCursor ? 1 : 0) + (config.sticky ? 2 : 0)];
+  },
+
+  /* appendTo source -> resolver function, the values of TC_APPEND_TO are built in (no eval required) */
+  _appendToResolvers: new Map([
+    ['document.body', () => document.body]
+  ]),
 
-    // enables required plugins
-    if (config.followCursor) {
-      config.plugins.push(followCursor);
+  _setupAppendTo: function (config) {
+    if (typeof config.appendTo === 'string' && config.appendTo != 'parent') {
+      let resolver = this._appendToResolvers.get(config.appendTo);
+      if (!resolver) {
+        // custom expressions are compiled only once
+        resolver = Function('reference', `return ${config.appendTo}`);
+        this._appendToResolvers.set(config.appendTo, resolver);
+      }
+      config.appendTo = resolver;
     }
-    if (config.sticky) {
-      config.plugins.push(sticky);
+  },
+
+  /* config.lazyContent: {id, prefetchDelay} if the content is fetched from the server once the tooltip is about to be shown */
+  _setupLazyContent: function (props, lazyContent) {
+    delete props.lazyContent;
+
+    if (!lazyContent) {
+      props.onTrigger = tippy.defaultProps.onTrigger;
+      props.onUntrigger = tippy.defaultProps.onUntrigger;
+      props.onShow = tippy.defaultProps.onShow;
+      return;
     }
+
+    // hover intent: prefetch once the pointer rests on the element
+    props.onTrigger = instance => {
+      clearTimeout(instance._tt4vPrefetchTimeout);
+      instance._tt4vPrefetchTimeout = setTimeout(
+          () => this._fetchLazyContent(instance), lazyContent.prefetchDelay);
+    };
+    props.onUntrigger = instance => clearTimeout(instance._tt4vPrefetchTimeout);
+    // the placeholder is shown until the content arrives, there is nothing to show if the server has no content
+    props.onShow = instance => {
+      this._fetchLazyContent(instance);
+      return instance._tt4vLazyContent !== null;
+    };
   },
 
-  _setupAppendTo: function (config) {
-    if (config.appendTo && config.appendTo != 'parent') {
-      config.appendTo = Function('reference', `return ${config.appendTo}`);
+  _fetchLazyContent: function (instance) {
+    if (instance._tt4vLazyContent !== undefined || instance._tt4vLazyRequest || !this.provider) {
+      return;
+    }
+
+    const request = {};
+    instance._tt4vLazyRequest = request;
+
+    this.provider.$server.fetchLazyContent(instance.reference.getAttribute('tt4v'))
+    .then(content => {
+      // superseded by another content provider
+      if (instance._tt4vLazyRequest !== request) {
+        return;
+      }
+      instance._tt4vLazyRequest = undefined;
+      instance._tt4vLazyContent = content;
+
+      if (content === null) {
+        instance.hide();
+      } else {
+        instance.setContent(content);
+      }
+    })
+    .catch(err => {
+      instance._tt4vLazyRequest = undefined;
+      console.warn("fetchLazyContent: " + err);
+    });
+  },
+
+  _resetLazyContent: function (instance) {
+    clearTimeout(instance._tt4vPrefetchTimeout);
+    instance._tt4vLazyRequest = undefined;
+    instance._tt4vLazyContent = undefined;
+  },
+
+  /* merges the template of a config with the properties overridden by the config */
+  _resolveTemplate: function (config) {
+    if (config.template === undefined) {
+      return config;
     }
+
+    const resolved = Object.assign({}, this.templates[config.template], config);
+    delete resolved.template;
+    // null marks properties that are defined by the template but not by the config
+    Object.keys(resolved)
+    .filter(key => resolved[key] === null)
+    .forEach(key => delete resolved[key]);
+
+    return resolved;
+  },
+
+  /* converts a config patch into tippy props (null resets a property to its default) */
+  _toTippyProps: function (configPatch, config) {
+    const props = {};
+    Object.keys(configPatch).forEach(key => {
+      props[key] = configPatch[key] === null ? tippy.defaultProps[key] : configPatch[key];
+    });
+
+    if ('followCursor' in configPatch || 'sticky' in configPatch) {
+      const pluginConfig = Object.assign({}, config);
+      this._setupTippyPlugins(pluginConfig);
+      props.plugins = pluginConfig.plugins;
+    }
+    if (configPatch.appendTo) {
+      this._setupAppendTo(props);
+    }
+    if ('lazyContent' in configPatch) {
+      this._setupLazyContent(props, config.lazyContent);
+      // replaces previously fetched content by the placeholder / static content
+      props.content = config.content;
+    }
+
+    return props;
   },
 
   _removeTooltipFromElement: function (tooltipElement) {
     if (tooltipElement && tooltipElement._tippy) {
       tooltipElement._tippy.destroy();
+      window.tooltips._refreshGroupOf(tooltipElement);
+    }
+    if (tooltipElement && tooltipElement._tt4vLight) {
+      window.tooltips._removeLightTooltip(tooltipElement);
+    }
+    if (tooltipElement) {
+      delete tooltipElement._tt4vConfig;
+      delete tooltipElement._tt4vDeclared;
     }
   },
 
+  /* props shared by multiple tooltips, which supply their content separately */
+  _toSharedProps: function (config) {
+    config = Object.assign({}, config);
+    delete config.content;
+    this._setupTippyPlugins(config);
+    this._setupAppendTo(config);
+
+    return config;
+  },
+
+  /* creates a delegating tippy instance on a container, config: the props shared by all of its tooltips */
+  _delegate: function (container, config, target, getContent) {
+    return delegate(container, Object.assign(this._toSharedProps(config), {
+      target: target,
+      // elements may get reused, hence the content is looked up whenever a tooltip is triggered
+      onTrigger: (instance, event) => {
+        instance._tt4vDelegatedContent = getContent(instance, event);
+        if (instance._tt4vDelegatedContent) {
+          instance.setContent(instance._tt4vDelegatedContent);
+        }
+      },
+      onShow: instance => !!instance._tt4vDelegatedContent
+    }));
+  },
+
   /* ### INTERACTION ### */
 
+  registerProvider: function (provider) {
+    this.provider = provider;
+  },
+
+  registerTemplates: function (templateNames, configs) {
+    templateNames.forEach((templateName, index) =>
+        this.templates[templateName] = configs[index]);
+  },
+
   setTooltipToElement: function (tooltipElement, config) {
     if (tooltipElement) {
-      if(tooltipElement._tippy){
+      config = this._resolveTemplate(config);
+
+      if(tooltipElement._tippy || tooltipElement._tt4vLight){
         this._removeTooltipFromElement(tooltipElement)
       }
 
+      this._indexElement(tooltipElement);
+
+      // the untouched config is the base for subsequent patches
+      tooltipElement._tt4vConfig = Object.assign({}, config);
+
+      // not backed by a tippy instance, hence there is no id
+      if (this._isLightweight(tooltipElement, config)) {
+        this._setLightTooltip(tooltipElement, config);
+        return null;
+      }
+
       this._setupTippyPlugins(config);
       this._setupAppendTo(config);
+      this._setupLazyContent(config, config.lazyContent);
       tippy(tooltipElement, config);
+      this._refreshGroupOf(tooltipElement);
 
       // this id will be used by tooltips DOM id associated with the tooltipElement
       return tooltipElement._tippy.id;
     }
   },
 
-  updateTooltip: function (tooltipElement, config) {
+  /* the elements get registered once the browser is idle, the ids are returned in the same order as the elements got supplied */
+  setTooltipsToElements: function (tooltipElements, configs, hashes) {
+    return Promise.all(tooltipElements.map((tooltipElement, index) => {
+      this._cacheConfig(tooltipElement, this._resolveTemplate(configs[index]), hashes && hashes[index]);
+      return this._scheduleRegistration(tooltipElement, configs[index]);
+    }));
+  },
+
+  /*
+   * Restores re-attached tooltips from their cached configs (the server only sends the hash of their configs). Elements whose
+   * tippy instance is still alive are kept as they are. Returns false for each tooltip whose config is not cached (anymore).
+   */
+  reviveTooltips: function (tooltipElements, hashes) {
+    return Promise.all(tooltipElements.map((tooltipElement, index) => {
+      const cached = tooltipElement && this._configCache.get(tooltipElement.getAttribute('tt4v'));
+      if (!cached || cached.hash !== hashes[index]) {
+        return false;
+      }
+
+      if (tooltipElement._tt4vConfig && tooltipElement._tippy) {
+        return tooltipElement._tippy.id;
+      }
+      if (tooltipElement._tt4vConfig && tooltipElement._tt4vLight) {
+        return null;
+      }
+      return this._scheduleRegistration(tooltipElement, Object.assign({}, cached.config));
+    }));
+  },
+
+  /* keeps the resolved config of a tooltip (the least recently registered ones get evicted) */
+  _cacheConfig: function (tooltipElement, config, hash) {
+    const frontendId = tooltipElement && tooltipElement.getAttribute('tt4v');
+    if (!frontendId || hash === undefined) {
+      return;
+    }
+
+    this._configCache.delete(frontendId);
+    this._configCache.set(frontendId, {config: Object.assign({}, config), hash: hash});
+    if (this._configCache.size > this._configCacheLimit) {
+      this._configCache.delete(this._configCache.keys().next().value);
+    }
+  },
+
+  _cachePatch: function (tooltipElement, configPatch, hash) {
+    const cached = tooltipElement && this._configCache.get(tooltipElement.getAttribute('tt4v'));
+    if (cached) {
+      const config = Object.assign({}, cached.config, configPatch);
+      Object.keys(configPatch)
+      .filter(key => configPatch[key] === null)
+      .forEach(key => delete config[key]);
+      this._cacheConfig(tooltipElement, config, hash);
+    }
+  },
+
+  /* only the properties which changed are supplied */
+  updateTooltip: function (tooltipElement, configPatch) {
+    const pendingRegistration = this._pendingRegistrations.get(tooltipElement);
+    if (pendingRegistration) {
+      pendingRegistration.config = this._resolveTemplate(pendingRegistration.config);
+      Object.assign(pendingRegistration.config, configPatch);
+      Object.keys(configPatch)
+      .filter(key => configPatch[key] === null)
+      .forEach(key => delete pendingRegistration.config[key]);
+      return;
+    }
+
     if (tooltipElement) {
-      if (tooltipElement._tippy) {
-        this._setupTippyPlugins(config)
-        this._setupAppendTo(config);
-        tooltipElement._tippy.setProps(config);
+      const config = Object.assign({}, tooltipElement._tt4vConfig, configPatch);
+      Object.keys(configPatch)
+      .filter(key => configPatch[key] === null)
+      .forEach(key => delete config[key]);
+
+      // tippy instances created by a delegating instance are replaced
+      if (tooltipElement._tippy && tooltipElement._tt4vConfig) {
+        tooltipElement._tt4vConfig = config;
+        if ('lazyContent' in configPatch) {
+          this._resetLazyContent(tooltipElement._tippy);
+        }
+        tooltipElement._tippy.setProps(this._toTippyProps(configPatch, config));
 
       } else {
         // lost its _tippy sub entry for some reason
@@ -103,16 +451,73 @@ window.tooltips = {
   },
 
   removeTooltip: function (frontendId, tooltipId) {
-    this.closeTooltipForced(tooltipId);
+    this._configCache.delete(frontendId);
+
+    // not registered with tippy yet
+    const pendingElement = this._getElement(frontendId);
+    if (pendingElement && this._pendingRegistrations.has(pendingElement)) {
+      this._cancelRegistration(pendingElement);
+      this._elements.delete(frontendId);
+      return;
+    }
+
+    // lightweight tooltips are not backed by a tippy instance
+    if (tooltipId != null) {
+      this.closeTooltipForced(tooltipId);
+    }
 
     /* destroy frontend tooltip on the element */
     this._getElementFaulttolerant(frontendId)
-    .then(this._removeTooltipFromElement)
+    .then(tooltipElement => {
+      this._elements.delete(frontendId);
+      this._removeTooltipFromElement(tooltipElement);
+    })
     .catch(err => {
       console.warn("removeTooltip: " + err);
     })
   },
 
+  updateTooltips: function (tooltipElements, configs, hashes) {
+    // the ids are returned in the same order as the elements got supplied
+    return tooltipElements.map((tooltipElement, index) => {
+      this._cachePatch(tooltipElement, configs[index], hashes && hashes[index]);
+      return this.updateTooltip(tooltipElement, configs[index]);
+    });
+  },
+
+  removeTooltips: function (frontendIds, tooltipIds) {
+    frontendIds.forEach((frontendId, index) =>
+        this.removeTooltip(frontendId, tooltipIds && tooltipIds[index]));
+  },
+
+  /* the root and all descendants (light DOM) which have a tooltip */
+  _getTooltipElementsWithin: function (root) {
+    if (!root) {
+      return [];
+    }
+
+    const tooltipElements = Array.from(root.querySelectorAll('[tt4v]'));
+    if (root.hasAttribute('tt4v')) {
+      tooltipElements.push(root);
+    }
+    return tooltipElements;
+  },
+
+  /* destroys all tooltips of a subtree at once (no lookup by frontend id) */
+  removeTooltipsWithin: function (root) {
+    this._getTooltipElementsWithin(root).forEach(tooltipElement => {
+      const frontendId = tooltipElement.getAttribute('tt4v');
+      this._configCache.delete(frontendId);
+      this._elements.delete(frontendId);
+      this._cancelRegistration(tooltipElement);
+      this._removeTooltipFromElement(tooltipElement);
+    });
+  },
+
+  closeTooltipsWithin: function (root) {
+    this._getTooltipElementsWithin(root).forEach(tooltipElement => this.hideTooltip(tooltipElement));
+  },
+
   /* cleans up if a tooltip is open */
   closeTooltipForced: function (tooltipId) {
     /* tippy fails to remove tooltips whose registered component
@@ -121,19 +526,637 @@ window.tooltips = {
     this._removeTooltipFromElement(tooltipElement);
   },
 
+  closeTooltipsForced: function (tooltipIds) {
+    tooltipIds.forEach(tooltipId => this.closeTooltipForced(tooltipId));
+  },
+
   closeAllTooltips: function () {
     hideAll();
+    this._hideLight(true);
   },
 
   showTooltip: function (tooltipElement) {
+    this._registerNow(tooltipElement);
+    // the attributes might have been applied within the current task
+    if (tooltipElement && !tooltipElement._tippy && !tooltipElement._tt4vLight) {
+      this._applyDeclaration(tooltipElement);
+    }
+
     if (tooltipElement && tooltipElement._tippy) {
       tooltipElement._tippy.show();
+    } else if (tooltipElement && tooltipElement._tt4vLight) {
+      this._showLight(tooltipElement);
     }
   },
 
   hideTooltip: function (tooltipElement) {
     if (tooltipElement && tooltipElement._tippy) {
       tooltipElement._tippy.hide();
+    } else if (this._light && this._light.reference === tooltipElement) {
+      this._hideLight(true);
+    }
+  },
+
+  /* ### OPEN STATE ### */
+
+  /*
+   * The server only force closes tooltips that are open once their component gets detached, hence the frontend reports open /
+   * close transitions (debounced). Tooltips whose element got removed in the meantime are closed by the frontend itself.
+   */
+  _openStatePlugin: {
+    fn: instance => ({
+      onMount: () => window.tooltips._setOpen(instance.reference, true, () => instance.unmount()),
+      onHidden: () => window.tooltips._setOpen(instance.reference, false)
+    })
+  },
+
+  _setOpen: function (reference, open, close) {
+    // e.g. the virtual reference of a group
+    const frontendId = reference && reference.getAttribute && reference.getAttribute('tt4v');
+    if (!frontendId) {
+      return;
+    }
+
+    if (open) {
+      this._openTooltips.set(frontendId, {reference: reference, close: close});
+    } else {
+      this._openTooltips.delete(frontendId);
+    }
+
+    clearTimeout(this._openStateTimeout);
+    this._openStateTimeout = setTimeout(() => this._reportOpenStates(), 200);
+  },
+
+  _reportOpenStates: function () {
+    Array.from(this._openTooltips.values())
+    .filter(openTooltip => !openTooltip.reference.isConnected)
+    .forEach(openTooltip => openTooltip.close());
+
+    const opened = Array.from(this._openTooltips.keys()).filter(frontendId => !this._reportedOpenTooltips.has(frontendId));
+    const closed = Array.from(this._reportedOpenTooltips).filter(frontendId => !this._openTooltips.has(frontendId));
+    if ((opened.length > 0 || closed.length > 0) && this.provider) {
+      this._reportedOpenTooltips = new Set(this._openTooltips.keys());
+      this.provider.$server.reportOpenStates(opened, closed);
+    }
+  },
+
+  /* ### LIGHTWEIGHT RENDERING ### */
+
+  /*
+   * Plain tooltips (content, placement and delay only) are not backed by a tippy instance. A single element styled like a tippy
+   * box gets positioned next to the hovered / focused element by document level listeners.
+   */
+  /* opt-in, lightweight tooltips are not announced to assistive technologies (see: setLightweightRendering) */
+  _lightweightRendering: false,
+  _lightProps: ['allowHTML', 'content', 'delay', 'placement'],
+  _lightPlacements: ['top', 'bottom', 'left', 'right'],
+  _lightOpposites: {top: 'bottom', bottom: 'top', left: 'right', right: 'left'},
+  /* {root, box, content, arrow, reference, timeout} of the shared element (see: _setupLightRendering) */
+  _light: undefined,
+
+  setLightweightRendering: function (enabled) {
+    this._lightweightRendering = enabled;
+  },
+
+  _isLightweight: function (tooltipElement, config) {
+    return this._lightweightRendering
+        && tooltipElement._tt4vGroup === undefined
+        && Object.keys(config).every(key => this._lightProps.includes(key))
+        && (config.placement === undefined || this._lightPlacements.includes(config.placement));
+  },
+
+  _setLightTooltip: function (tooltipElement, config) {
+    const delay = Array.isArray(config.delay) ? config.delay : [config.delay, config.delay];
+    tooltipElement._tt4vLight = {
+      content: config.content,
+      allowHTML: config.allowHTML,
+      placement: config.placement || 'top',
+      showDelay: delay[0] || 0,
+      hideDelay: delay[1] || 0
+    };
+    this._setupLightRendering();
+  },
+
+  _removeLightTooltip: function (tooltipElement) {
+    if (this._light && this._light.reference === tooltipElement) {
+      this._hideLight(true);
     }
+    delete tooltipElement._tt4vLight;
+  },
+
+  _setupLightRendering: function () {
+    if (this._light) {
+      return;
+    }
+
+    const root = document.createElement('div');
+    root.setAttribute('data-tippy-root', '');
+    Object.assign(root.style, {position: 'fixed', top: '0', left: '0', zIndex: '9999', pointerEvents: 'none'});
+    const box = document.createElement('div');
+    box.className = 'tippy-box';
+    box.setAttribute('role', 'tooltip');
+    box.setAttribute('data-state', 'hidden');
+    box.setAttribute('data-animation', 'fade');
+    box.style.maxWidth = '350px';
+    const content = document.createElement('div');
+    content.className = 'tippy-content';
+    const arrow = document.createElement('div');
+    arrow.className = 'tippy-arrow';
+    box.append(content, arrow);
+    root.append(box);
+    this._light = {root: root, box: box, content: content, arrow: arrow};
+
+    const findReference = event => event.composedPath().find(target => target._tt4vLight);
+    document.addEventListener('mouseover', event => {
+      const reference = findReference(event);
+      if (reference) {
+        this._scheduleLight(reference);
+      } else {
+        this._hideLight(false);
+      }
+    }, true);
+    document.addEventListener('mouseout', event => {
+      // left the window
+      if (!event.relatedTarget) {
+        this._hideLight(false);
+      }
+    }, true);
+    document.addEventListener('focusin', event => {
+      const reference = findReference(event);
+      if (reference) {
+        this._scheduleLight(reference);
+      }
+    }, true);
+    document.addEventListener('focusout', () => this._hideLight(false), true);
+    document.addEventListener('mousedown', () => this._hideLight(true), true);
+    document.addEventListener('scroll', () => this._hideLight(true), {capture: true, passive: true});
+  },
+
+  _scheduleLight: function (reference) {
+    const light = this._light;
+    // already shown / about to be shown
+    if (light.pending === reference || (light.reference === reference && !light.hiding)) {
+      if (light.hiding) {
+        clearTimeout(light.timeout);
+        light.hiding = false;
+      }
+      return;
+    }
+
+    // a single element displays all of them
+    this._hideLight(true);
+    light.pending = reference;
+    light.timeout = setTimeout(() => this._showLight(reference), reference._tt4vLight.showDelay);
+  },
+
+  _showLight: function (reference) {
+    const light = this._light;
+    const props = reference._tt4vLight;
+    clearTimeout(light.timeout);
+    light.pending = undefined;
+    if (!props || !props.content || !reference.isConnected) {
+      return;
+    }
+
+    if (props.allowHTML) {
+      light.content.innerHTML = props.content;
+    } else {
+      light.content.textContent = props.content;
+    }
+    if (!light.root.isConnected) {
+      document.body.appendChild(light.root);
+    }
+
+    light.reference = reference;
+    light.hiding = false;
+    this._setOpen(reference, true, () => this._hideLight(true));
+    this._positionLight(reference, props.placement);
+    light.box.style.transitionDuration = '300ms';
+    light.box.setAttribute('data-state', 'visible');
+  },
+
+  _hideLight: function (immediately) {
+    const light = this._light;
+    if (!light) {
+      return;
+    }
+
+    clearTimeout(light.timeout);
+    light.pending = undefined;
+    if (!light.reference) {
+      return;
+    }
+
+    const hide = () => {
+      this._setOpen(light.reference, false);
+      light.box.style.transitionDuration = '250ms';
+      light.box.setAttribute('data-state', 'hidden');
+      light.reference = undefined;
+      light.hiding = false;
+    };
+    const hideDelay = light.reference._tt4vLight ? light.reference._tt4vLight.hideDelay : 0;
+
+    if (immediately || hideDelay === 0) {
+      hide();
+    } else {
+      light.hiding = true;
+      light.timeout = setTimeout(hide, hideDelay);
+    }
+  },
+
+  /* places the box at the preferred side of the reference (the opposite side if it does not fit) with an offset of 10px */
+  _positionLight: function (reference, placement) {
+    const light = this._light;
+    const offset = 10;
+    const padding = 5;
+    const referenceRect = reference.getBoundingClientRect();
+    const boxRect = light.box.getBoundingClientRect();
+
+    const fits = {
+      top: referenceRect.top - offset - boxRect.height >= 0,
+      bottom: referenceRect.bottom + offset + boxRect.height <= window.innerHeight,
+      left: referenceRect.left - offset - boxRect.width >= 0,
+      right: referenceRect.right + offset + boxRect.width <= window.innerWidth
+    };
+    if (!fits[placement] && fits[this._lightOpposites[placement]]) {
+      placement = this._lightOpposites[placement];
+    }
+
+    const clamp = (value, min, max) => Math.max(min, Math.min(value, max));
+    let x;
+    let y;
+    if (placement === 'top' || placement === 'bottom') {
+      x = clamp(referenceRect.left + (referenceRect.width - boxRect.width) / 2,
+          padding, window.innerWidth - boxRect.width - padding);
+      y = placement === 'top' ? referenceRect.top - offset - boxRect.height : referenceRect.bottom + offset;
+      light.arrow.style.top = '';
+      light.arrow.style.left = clamp(referenceRect.left + referenceRect.width / 2 - x - 8, 0, boxRect.width - 16) + 'px';
+    } else {
+      x = placement === 'left' ? referenceRect.left - offset - boxRect.width : referenceRect.right + offset;
+      y = clamp(referenceRect.top + (referenceRect.height - boxRect.height) / 2,
+          padding, window.innerHeight - boxRect.height - padding);
+      light.arrow.style.left = '';
+      light.arrow.style.top = clamp(referenceRect.top + referenceRect.height / 2 - y - 8, 0, boxRect.height - 16) + 'px';
+    }
+
+    light.box.setAttribute('data-placement', placement);
+    light.root.style.transform = `translate(${Math.round(x)}px, ${Math.round(y)}px)`;
+  },
+
+  /* ### DECLARATIVE TOOLTIPS ### */
+
+  /*
+   * Tooltips declared by the attributes data-tt4v-config (the key of a config registered by the server) and data-tt4v-content.
+   * Vaadin transfers them along with all other changes, an observer creates / updates / destroys the tippy instances. The
+   * attribute values are never evaluated, elements referring to an unknown key are ignored.
+   */
+  enableDeclarativeTooltips: function () {
+    if (this._declarationObserver) {
+      return;
+    }
+
+    this._declarationObserver = new MutationObserver(records => records.forEach(record => {
+      if (record.type === 'attributes') {
+        this._applyDeclaration(record.target);
+      } else {
+        record.addedNodes.forEach(node => this._applyDeclarations(node));
+        record.removedNodes.forEach(node => this._applyDeclarations(node));
+      }
+    }));
+    this._declarationObserver.observe(document.body, {
+      subtree: true,
+      childList: true,
+      attributes: true,
+      attributeFilter: ['data-tt4v-config', 'data-tt4v-content']
+    });
+
+    this._applyDeclarations(document.body);
+  },
+
+  /* the configs (without content) of declared tooltips, the elements refer to them by their keys */
+  registerDeclaredConfigs: function (configKeys, configs) {
+    configKeys.forEach((configKey, index) => {
+      this._declaredConfigs.set(configKey, Object.freeze(configs[index]));
+
+      // the attributes might have been applied before the config got registered
+      if (this._declarationObserver) {
+        document.querySelectorAll(`[data-tt4v-config="${CSS.escape(configKey)}"]`)
+        .forEach(element => this._applyDeclaration(element));
+      }
+    });
+  },
+
+  /* applies the declarations of an element and its descendants */
+  _applyDeclarations: function (node) {
+    if (node.nodeType === Node.ELEMENT_NODE) {
+      this._applyDeclaration(node);
+      node.querySelectorAll('[data-tt4v-config]').forEach(element => this._applyDeclaration(element));
+    }
+  },
+
+  _applyDeclaration: function (element) {
+    const configKey = element.getAttribute('data-tt4v-config');
+    const content = element.getAttribute('data-tt4v-content');
+    const declaredConfig = configKey !== null ? this._declaredConfigs.get(configKey) : undefined;
+
+    // removed declarations, unknown configs and detached elements
+    if (!declaredConfig || content === null || !element.isConnected) {
+      if (element._tt4vDeclared !== undefined) {
+        this._removeTooltipFromElement(element);
+      }
+      return;
+    }
+
+    if (element._tt4vLight && element._tt4vDeclared === configKey) {
+      element._tt4vLight.content = content;
+      return;
+    }
+    if (element._tippy && element._tt4vDeclared === configKey) {
+      if (element._tippy.props.content !== content) {
+        element._tippy.setContent(content);
+      }
+      return;
+    }
+
+    // registered using JavaScript in the meantime
+    if (element._tt4vConfig) {
+      return;
+    }
+
+    this._removeTooltipFromElement(element);
+    const config = Object.assign({}, declaredConfig, {content: content});
+    if (this._isLightweight(element, config)) {
+      this._setLightTooltip(element, config);
+    } else {
+      this._setupTippyPlugins(config);
+      this._setupAppendTo(config);
+      tippy(element, config);
+    }
+    element._tt4vDeclared = configKey;
+    this._indexElement(element);
+  },
+
+  /* ### IDLE REGISTRATION ### */
+
+  /*
+   * Registering hundreds of tooltips at once blocks the main thread while a view renders. Therefore registrations are executed
+   * in time slices whenever the browser is idle: elements within (or near) the viewport first. Elements get registered
+   * immediately once they are hovered / focused.
+   */
+  _scheduleRegistration: function (tooltipElement, config) {
+    if (!tooltipElement) {
+      return Promise.resolve(undefined);
+    }
+
+    // a newer registration replaces a pending one
+    this._cancelRegistration(tooltipElement);
+    this._setupIdleRegistration();
+    this._indexElement(tooltipElement);
+
+    return new Promise(resolve => {
+      this._pendingRegistrations.set(tooltipElement, {config: config, resolve: resolve});
+      this._viewportObserver.observe(tooltipElement);
+      this._scheduleIdleCallback();
+    });
+  },
+
+  _setupIdleRegistration: function () {
+    if (this._viewportObserver) {
+      return;
+    }
+
+    this._viewportObserver = new IntersectionObserver(entries => entries.forEach(entry =>
+        entry.target._tt4vNearViewport = entry.isIntersecting), {rootMargin: '200px'});
+
+    // registers hovered / focused elements right away (composedPath: elements within shadow roots)
+    const registerTarget = event => {
+      if (this._pendingRegistrations.size > 0) {
+        const tooltipElement = event.composedPath().find(target => this._pendingRegistrations.has(target));
+        if (tooltipElement && this._registerNow(tooltipElement)) {
+          this._showIfTriggeredBy(tooltipElement._tippy, event);
+        }
+      }
+    };
+    document.addEventListener('mouseover', registerTarget, true);
+    document.addEventListener('focusin', registerTarget, true);
+    document.addEventListener('touchstart', registerTarget, {capture: true, passive: true});
+  },
+
+  /* the event which triggered the registration was missed by the tippy instance */
+  _showIfTriggeredBy: function (instance, event) {
+    const trigger = {mouseover: 'mouseenter', focusin: 'focus'}[event.type];
+    if (instance && trigger && instance.props.trigger.includes(trigger)) {
+      instance.show();
+    }
+  },
+
+  _scheduleIdleCallback: function () {
+    if (this._idleCallbackScheduled) {
+      return;
+    }
+    this._idleCallbackScheduled = true;
+
+    const drain = deadline => {
+      this._idleCallbackScheduled = false;
+      this._drainPendingRegistrations(deadline);
+    };
+
+    if (window.requestIdleCallback) {
+      window.requestIdleCallback(drain, {timeout: 1000});
+    } else {
+      // e.g. Safari: time slices of 8ms
+      const start = Date.now();
+      setTimeout(() => drain({timeRemaining: () => Math.max(0, 8 - (Date.now() - start))}), 1);
+    }
+  },
+
+  _drainPendingRegistrations: function (deadline) {
+    const tooltipElements = Array.from(this._pendingRegistrations.keys());
+    // elements within (or near) the viewport first
+    const ordered = tooltipElements.filter(tooltipElement => tooltipElement._tt4vNearViewport)
+    .concat(tooltipElements.filter(tooltipElement => !tooltipElement._tt4vNearViewport));
+
+    for (const tooltipElement of ordered) {
+      // at least one registration per slice (the deadline might be exceeded already once the timeout kicked in)
+      if (tooltipElement !== ordered[0] && deadline.timeRemaining() < 1) {
+        break;
+      }
+      this._registerNow(tooltipElement);
+    }
+
+    if (this._pendingRegistrations.size > 0) {
+      this._scheduleIdleCallback();
+    }
+  },
+
+  /* returns true if the element had a pending registration */
+  _registerNow: function (tooltipElement) {
+    const pendingRegistration = this._pendingRegistrations.get(tooltipElement);
+    if (!pendingRegistration) {
+      return false;
+    }
+
+    this._pendingRegistrations.delete(tooltipElement);
+    this._viewportObserver.unobserve(tooltipElement);
+    pendingRegistration.resolve(this.setTooltipToElement(tooltipElement, pendingRegistration.config));
+    return true;
+  },
+
+  _cancelRegistration: function (tooltipElement) {
+    const pendingRegistration = this._pendingRegistrations.get(tooltipElement);
+    if (pendingRegistration) {
+      this._pendingRegistrations.delete(tooltipElement);
+      this._viewportObserver.unobserve(tooltipElement);
+      pendingRegistration.resolve(null);
+    }
+  },
+
+  /* ### GROUPS ### */
+
+  /* the members of a group share a single popper element (replaces the members if the group exists already) */
+  setTooltipGroup: function (tooltipElements, groupId, config) {
+    const group = this.groups[groupId] || (this.groups[groupId] = {elements: [], props: this._toSharedProps(config)});
+
+    group.elements
+    .filter(tooltipElement => !tooltipElements.includes(tooltipElement))
+    .forEach(tooltipElement => delete tooltipElement._tt4vGroup);
+    tooltipElements.forEach(tooltipElement => tooltipElement._tt4vGroup = groupId);
+    group.elements = tooltipElements;
+
+    // the singleton requires tippy instances
+    tooltipElements
+    .filter(tooltipElement => tooltipElement._tt4vLight && tooltipElement._tt4vConfig)
+    .forEach(tooltipElement => this.setTooltipToElement(tooltipElement, tooltipElement._tt4vConfig));
+
+    this._refreshGroup(group);
+  },
+
+  removeTooltipGroups: function (groupIds) {
+    groupIds.forEach(groupId => {
+      const group = this.groups[groupId];
+      if (group) {
+        group.elements.forEach(tooltipElement => delete tooltipElement._tt4vGroup);
+        group.elements = [];
+        this._refreshGroup(group);
+        delete this.groups[groupId];
+      }
+    });
+  },
+
+  /* members get (re-)registered individually, hence the singleton has to use their current tippy instances */
+  _refreshGroupOf: function (tooltipElement) {
+    if (tooltipElement._tt4vGroup !== undefined && this.groups[tooltipElement._tt4vGroup]) {
+      this._refreshGroup(this.groups[tooltipElement._tt4vGroup]);
+    }
+  },
+
+  _refreshGroup: function (group) {
+    const instances = group.elements
+    .filter(tooltipElement => tooltipElement._tippy && !tooltipElement._tippy.state.isDestroyed)
+    .map(tooltipElement => tooltipElement._tippy);
+
+    if (instances.length === 0) {
+      // restores the individual instances
+      if (group.singleton) {
+        group.singleton.destroy();
+        group.singleton = undefined;
+      }
+    } else if (group.singleton) {
+      group.singleton.setInstances(instances);
+    } else {
+      group.singleton = createSingleton(instances, group.props);
+    }
+  },
+
+  /* ### DELEGATION ### */
+
+  /* a single delegating tippy instance shows the tooltips of all elements within the container that carry their content */
+  enableDelegation: function (container, config) {
+    this.disableDelegation(container);
+
+    container._tt4vDelegate = this._delegate(container, config, '[tt4v-content]',
+        instance => instance.reference.getAttribute('tt4v-content'));
+  },
+
+  disableDelegation: function (container) {
+    if (container._tt4vDelegate) {
+      container._tt4vDelegate.destroy();
+      delete container._tt4vDelegate;
+    }
+  },
+
+  /* ### GRID ### */
+
+  /* a single delegating tippy instance shows the tooltip texts sent along with the items (see: GridTooltips) */
+  enableGridTooltips: function (grid, config) {
+    this.disableGridTooltips(grid);
+
+    grid._tt4vGridDelegate = this._delegate(grid, config, 'vaadin-grid-cell-content',
+        (instance, event) => this._getGridTooltip(grid, event));
+  },
+
+  disableGridTooltips: function (grid) {
+    if (grid._tt4vGridDelegate) {
+      grid._tt4vGridDelegate.destroy();
+      delete grid._tt4vGridDelegate;
+    }
+  },
+
+  _getGridTooltip: function (grid, event) {
+    const context = grid.getEventContext(event);
+    const itemKey = context.column && context.column.getAttribute('tt4v-tooltip');
+
+    return itemKey && context.item ? context.item[itemKey] : undefined;
+  },
+
+  setTooltipsVisibility: function (tooltipElements, visibilities) {
+    tooltipElements.forEach((tooltipElement, index) => {
+      if (visibilities[index]) {
+        this.showTooltip(tooltipElement);
+      } else {
+        this.hideTooltip(tooltipElement);
+      }
+    });
   }
 }
+
+/*
+ * Calls which require tippy.js are buffered (in order) until it is loaded. Only the ones marked with true start loading it,
+ * the others have nothing to act upon as long as no tooltip got registered.
+ */
+Object.entries({
+  setTooltipToElement: true,
+  setTooltipsToElements: true,
+  reviveTooltips: true,
+  updateTooltip: true,
+  updateTooltips: true,
+  showTooltip: true,
+  setTooltipsVisibility: true,
+  setTooltipGroup: true,
+  enableDelegation: true,
+  enableGridTooltips: true,
+  enableDeclarativeTooltips: true,
+  registerDeclaredConfigs: true,
+  removeTooltip: false,
+  removeTooltips: false,
+  removeTooltipsWithin: false,
+  closeTooltipsWithin: false,
+  closeTooltipForced: false,
+  closeTooltipsForced: false,
+  closeAllTooltips: false,
+  hideTooltip: false,
+  removeTooltipGroups: false,
+  disableDelegation: false,
+  disableGridTooltips: false
+}).forEach(([name, loadsTippy]) => {
+  const method = window.tooltips[name];
+
+  window.tooltips[name] = function (...args) {
+    if (tippy) {
+      return method.apply(this, args);
+    }
+    if (loadsTippy || this._tippyLoading) {
+      return this._loadTippy().then(() => method.apply(this, args));
+    }
+  };
+});
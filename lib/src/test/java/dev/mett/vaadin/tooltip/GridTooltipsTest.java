@@ -0,0 +1,90 @@
+package dev.mett.vaadin.tooltip;
+
+import static dev.mett.vaadin.tooltip.TestUI.invocationsOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.shared.Registration;
+import dev.mett.vaadin.tooltip.config.TooltipConfiguration;
+import dev.mett.vaadin.tooltip.config.TooltipContentTransformer;
+import dev.mett.vaadin.tooltip.util.TooltipsJsProvider;
+import elemental.json.Json;
+import elemental.json.JsonObject;
+import org.junit.jupiter.api.Test;
+
+public class GridTooltipsTest {
+
+  private static final String COLUMN_TAG_NAME = "tt4v-tooltip";
+
+  private final TestUI ui = new TestUI();
+
+  private static String generate(Grid<String> grid, String item) {
+    JsonObject itemJson = Json.createObject();
+    GridTooltips.forGrid(grid).generateTooltips(item, itemJson);
+    return itemJson.toJson();
+  }
+
+  @Test
+  public void tooltipsAreSentWithTheItems() {
+    Grid<String> grid = new Grid<>();
+    Grid.Column<String> column = grid.addColumn(item -> item);
+    GridTooltips.forColumn(column, item -> item.isEmpty() ? null : item + "\n!");
+
+    String itemKey = column.getElement().getAttribute(COLUMN_TAG_NAME);
+    assertEquals("{\"" + itemKey + "\":\"text<br>!\"}", generate(grid, "text"));
+    // cells without a tooltip text do not show a tooltip
+    assertEquals("{}", generate(grid, ""));
+  }
+
+  @Test
+  public void tooltipsAreRemovedFromTheColumn() {
+    Grid<String> grid = new Grid<>();
+    Grid.Column<String> column = grid.addColumn(item -> item);
+    Registration registration = GridTooltips.forColumn(column, item -> item);
+
+    registration.remove();
+    assertNull(column.getElement().getAttribute(COLUMN_TAG_NAME));
+    assertEquals("{}", generate(grid, "text"));
+  }
+
+  @Test
+  public void configurationRendersTheTooltips() {
+    Grid<String> grid = new Grid<>();
+    Grid.Column<String> column = grid.addColumn(item -> item);
+    GridTooltips.forColumn(column, item -> item);
+
+    TooltipConfiguration configuration = new TooltipConfiguration();
+    configuration.setContentTransformer(TooltipContentTransformer.ESCAPE_HTML);
+    GridTooltips.forGrid(grid).setConfiguration(configuration);
+
+    String itemKey = column.getElement().getAttribute(COLUMN_TAG_NAME);
+    assertEquals("{\"" + itemKey + "\":\"&lt;b&gt;\"}", generate(grid, "<b>"));
+  }
+
+  @Test
+  public void gridIsRegisteredOncePerRoundTrip() {
+    Grid<String> grid = new Grid<>();
+    GridTooltips.forColumn(grid.addColumn(item -> item), item -> item);
+    GridTooltips.forColumn(grid.addColumn(item -> item), item -> item);
+    ui.add(grid);
+
+    assertEquals(1, invocationsOf(ui.respond(), "enableGridTooltips").size());
+  }
+
+  @Test
+  public void gridTooltipsInitializeTheTooltips() {
+    Grid<String> grid = new Grid<>();
+    GridTooltips.forColumn(grid.addColumn(item -> item), item -> item);
+    ui.add(grid);
+    ui.respond();
+
+    assertEquals(1, ui.getChildren().filter(TooltipsJsProvider.class::isInstance).count());
+  }
+
+  @Test
+  public void columnIsRequired() {
+    assertThrows(IllegalArgumentException.class, () -> GridTooltips.<String>forColumn(null, item -> item));
+  }
+}
@@ -0,0 +1,57 @@
+package dev.mett.vaadin.tooltip;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.HasComponents;
+import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.internal.PendingJavaScriptInvocation;
+import com.vaadin.flow.server.VaadinSession;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link UI} whose session is always locked. The JavaScript executed before the client response gets collected instead of
+ * being sent.
+ */
+class TestUI extends UI {
+
+  TestUI() {
+    getInternals().setSession(new VaadinSession(null) {
+      @Override
+      public boolean hasLock() {
+        return true;
+      }
+    });
+  }
+
+  /**
+   * Simulates the end of a round-trip.
+   *
+   * @return the JavaScript invocations that would be sent to the client
+   */
+  List<PendingJavaScriptInvocation> respond() {
+    getInternals().getStateTree().runExecutionsBeforeClientResponse();
+    return getInternals().dumpPendingJavaScriptInvocations();
+  }
+
+  /**
+   * @param invocations the invocations of a response
+   * @param function    the name of a function of tooltips.js
+   * @return the invocations of the function
+   */
+  static List<PendingJavaScriptInvocation> invocationsOf(List<PendingJavaScriptInvocation> invocations, String function) {
+    return invocations.stream()
+        .filter(invocation -> invocation.getInvocation().getExpression().contains("window.tooltips." + function + "("))
+        .collect(Collectors.toList());
+  }
+
+  @Tag("span")
+  static class TestComponent extends Component {
+
+  }
+
+  @Tag("div")
+  static class TestLayout extends Component implements HasComponents {
+
+  }
+}
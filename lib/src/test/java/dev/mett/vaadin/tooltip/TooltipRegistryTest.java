@@ -0,0 +1,155 @@
+package dev.mett.vaadin.tooltip;
+
+import static dev.mett.vaadin.tooltip.TooltipsCommandQueueTest.createState;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.mett.vaadin.tooltip.TestUI.TestComponent;
+import dev.mett.vaadin.tooltip.config.TooltipConfiguration;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class TooltipRegistryTest {
+
+  private final TooltipRegistry registry = new TooltipRegistry();
+
+  private static TooltipStateData createStateWithId(long tooltipId) {
+    return new TooltipStateData(
+        new TooltipConfiguration("text"),
+        tooltipId,
+        new WeakReference<>(new TestComponent()));
+  }
+
+  /**
+   * @return ids whose slot is the last one of the initial table
+   */
+  private static List<Long> idsOfTheLastSlot(int count) {
+    List<Long> tooltipIds = new ArrayList<>();
+    for (long tooltipId = 1; tooltipIds.size() < count; tooltipId++) {
+      if ((Long.hashCode(tooltipId * 0x9E3779B97F4A7C15L) & 15) == 15) {
+        tooltipIds.add(tooltipId);
+      }
+    }
+    return tooltipIds;
+  }
+
+  @Test
+  public void putGetRemove() {
+    TooltipStateData state = createState(new TestComponent(), "text");
+
+    registry.put(state);
+    registry.put(state);
+    assertSame(state, registry.get(state.getTooltipId()));
+    assertEquals(1, registry.getAll().size());
+
+    TooltipStateData replacement = createStateWithId(state.getTooltipId());
+    registry.put(replacement);
+    assertSame(replacement, registry.get(state.getTooltipId()));
+
+    registry.remove(state.getTooltipId());
+    assertNull(registry.get(state.getTooltipId()));
+    assertTrue(registry.getAll().isEmpty());
+    registry.remove(state.getTooltipId());
+  }
+
+  @Test
+  public void unusedIdIsRejected() {
+    assertThrows(IllegalArgumentException.class, () -> registry.put(createStateWithId(0)));
+    assertNull(registry.get(0));
+    registry.remove(0);
+  }
+
+  @Test
+  public void removalShiftsWrappedEntries() {
+    List<Long> tooltipIds = idsOfTheLastSlot(3);
+    List<TooltipStateData> states = new ArrayList<>();
+    for (long tooltipId : tooltipIds) {
+      TooltipStateData state = createStateWithId(tooltipId);
+      states.add(state);
+      registry.put(state);
+    }
+
+    // the second and third entry wrapped around to the start of the table
+    registry.remove(tooltipIds.get(0));
+
+    assertNull(registry.get(tooltipIds.get(0)));
+    assertSame(states.get(1), registry.get(tooltipIds.get(1)));
+    assertSame(states.get(2), registry.get(tooltipIds.get(2)));
+
+    registry.remove(tooltipIds.get(1));
+    assertSame(states.get(2), registry.get(tooltipIds.get(2)));
+  }
+
+  @Test
+  public void tableGrows() {
+    List<TooltipStateData> states = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      TooltipStateData state = createState(new TestComponent(), "text");
+      states.add(state);
+      registry.put(state);
+    }
+
+    assertEquals(100, registry.getAll().size());
+    for (int i = 0; i < states.size(); i += 2) {
+      registry.remove(states.get(i).getTooltipId());
+    }
+    for (int i = 0; i < states.size(); i++) {
+      TooltipStateData expected = i % 2 == 0 ? null : states.get(i);
+      assertSame(expected, registry.get(states.get(i).getTooltipId()));
+    }
+    assertEquals(50, registry.getAll().size());
+  }
+
+  @Test
+  public void collectedStatesAreDropped() throws InterruptedException {
+    TooltipStateData kept = createState(new TestComponent(), "kept");
+    TooltipStateData collected = createState(new TestComponent(), "collected");
+    long collectedId = collected.getTooltipId();
+    WeakReference<TooltipStateData> reference = new WeakReference<>(collected);
+    registry.put(kept);
+    registry.put(collected);
+
+    collected = null;
+    for (int i = 0; i < 50 && reference.get() != null; i++) {
+      System.gc();
+      Thread.sleep(10);
+    }
+
+    assertNull(reference.get());
+    assertNull(registry.get(collectedId));
+    assertEquals(1, registry.getAll().size());
+    assertSame(kept, registry.get(kept.getTooltipId()));
+  }
+
+  @Test
+  public void serialization() throws Exception {
+    TooltipStateData state = createState(new TestComponent(), "text");
+    registry.put(state);
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      // the states are owned by their components, hence they are serialized along with the registry
+      out.writeObject(new Object[] {registry, state});
+    }
+    Object[] deserialized;
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      deserialized = (Object[]) in.readObject();
+    }
+
+    TooltipRegistry registryCopy = (TooltipRegistry) deserialized[0];
+    TooltipStateData stateCopy = (TooltipStateData) deserialized[1];
+    assertNotNull(registryCopy.get(state.getTooltipId()));
+    assertSame(stateCopy, registryCopy.get(state.getTooltipId()));
+    assertEquals(1, registryCopy.getAll().size());
+  }
+}
@@ -0,0 +1,193 @@
+package dev.mett.vaadin.tooltip;
+
+import static dev.mett.vaadin.tooltip.TestUI.invocationsOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.internal.PendingJavaScriptInvocation;
+import dev.mett.vaadin.tooltip.TestUI.TestComponent;
+import dev.mett.vaadin.tooltip.config.TooltipConfiguration;
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class TooltipsCommandQueueTest {
+
+  private static final AtomicLong tooltipIdGenerator = new AtomicLong(1_000_000);
+
+  private final TestUI ui = new TestUI();
+  private final TooltipsCommandQueue queue = TooltipsCommandQueue.get(ui);
+
+  static TooltipStateData createState(Component component, String content) {
+    TooltipStateData state = new TooltipStateData(
+        new TooltipConfiguration(content),
+        tooltipIdGenerator.incrementAndGet(),
+        new WeakReference<>(component));
+    state.setFrontendId("tooltip-" + state.getTooltipId());
+    return state;
+  }
+
+  /**
+   * Registers a tooltip and lets the frontend acknowledge it.
+   */
+  private TooltipStateData registeredState(Component component, String content, int tippyId) {
+    TooltipStateData state = createState(component, content);
+    queue.register(state);
+
+    PendingJavaScriptInvocation registration = invocationsOf(ui.respond(), "setTooltipsToElements").get(0);
+    JsonArray tippyIds = Json.createArray();
+    tippyIds.set(0, tippyId);
+    registration.complete(tippyIds);
+
+    return state;
+  }
+
+  private static JsonArray configs(PendingJavaScriptInvocation invocation) {
+    List<Object> parameters = invocation.getInvocation().getParameters();
+    return (JsonArray) parameters.get(parameters.size() - 2);
+  }
+
+  @Test
+  public void registrationAndRemovalCancelEachOther() {
+    TestComponent component = new TestComponent();
+    ui.add(component);
+    TooltipStateData state = createState(component, "text");
+
+    AtomicBoolean deregistered = new AtomicBoolean();
+    queue.register(state);
+    queue.remove(state, () -> deregistered.set(true));
+
+    assertTrue(deregistered.get());
+    assertTrue(ui.respond().isEmpty());
+  }
+
+  @Test
+  public void lastUpdateWins() {
+    TestComponent component = new TestComponent();
+    ui.add(component);
+    TooltipStateData state = registeredState(component, "first", 1);
+
+    state.getWritableTooltipConfig().setContent("second");
+    queue.update(state);
+    state.getWritableTooltipConfig().setContent("third");
+    queue.update(state);
+
+    List<PendingJavaScriptInvocation> updates = invocationsOf(ui.respond(), "updateTooltips");
+    assertEquals(1, updates.size());
+    assertEquals("{\"content\":\"third\"}", configs(updates.get(0)).get(0).toJson());
+  }
+
+  @Test
+  public void removalWinsOverRegistration() {
+    TestComponent component = new TestComponent();
+    ui.add(component);
+    TooltipStateData state = registeredState(component, "text", 1);
+
+    queue.remove(state, () -> { /* nothing to clean up */ });
+    queue.register(state);
+
+    List<PendingJavaScriptInvocation> invocations = ui.respond();
+    assertEquals(1, invocationsOf(invocations, "removeTooltips").size());
+    assertTrue(invocationsOf(invocations, "setTooltipsToElements").isEmpty());
+  }
+
+  @Test
+  public void removalWhileTheRegistrationIsPending() {
+    TestComponent component = new TestComponent();
+    ui.add(component);
+    TooltipStateData state = createState(component, "text");
+    queue.register(state);
+    // the client registers the tooltip once it is idle, hence it has no tippy id yet
+    ui.respond();
+
+    AtomicBoolean deregistered = new AtomicBoolean();
+    queue.remove(state, () -> deregistered.set(true));
+
+    PendingJavaScriptInvocation removal = invocationsOf(ui.respond(), "removeTooltips").get(0);
+    assertEquals("[\"" + state.getFrontendId() + "\"]", ((JsonArray) removal.getInvocation().getParameters().get(0)).toJson());
+    assertEquals("[null]", ((JsonArray) removal.getInvocation().getParameters().get(1)).toJson());
+
+    removal.complete(Json.createNull());
+    assertTrue(deregistered.get());
+  }
+
+  @Test
+  public void removalOfALightweightTooltip() {
+    TestComponent component = new TestComponent();
+    ui.add(component);
+    TooltipStateData state = createState(component, "text");
+    queue.register(state);
+
+    // lightweight tooltips are not backed by a tippy instance, hence there is no id
+    JsonArray tippyIds = Json.createArray();
+    tippyIds.set(0, Json.createNull());
+    invocationsOf(ui.respond(), "setTooltipsToElements").get(0).complete(tippyIds);
+    assertNull(state.getTippyId());
+
+    AtomicBoolean deregistered = new AtomicBoolean();
+    queue.remove(state, () -> deregistered.set(true));
+
+    PendingJavaScriptInvocation removal = invocationsOf(ui.respond(), "removeTooltips").get(0);
+    assertEquals("[null]", ((JsonArray) removal.getInvocation().getParameters().get(1)).toJson());
+
+    removal.complete(Json.createNull());
+    assertTrue(deregistered.get());
+  }
+
+  @Test
+  public void lightweightRenderingIsOptIn() {
+    assertFalse(queue.isLightweightRendering());
+    queue.setLightweightRendering(false);
+    assertTrue(ui.respond().isEmpty());
+
+    queue.setLightweightRendering(true);
+    queue.setLightweightRendering(true);
+
+    List<PendingJavaScriptInvocation> invocations = invocationsOf(ui.respond(), "setLightweightRendering");
+    assertEquals(1, invocations.size());
+    assertEquals(true, invocations.get(0).getInvocation().getParameters().get(0));
+  }
+
+  @Test
+  public void onlyTheLastVisibilityChangeIsExecuted() {
+    TestComponent component = new TestComponent();
+    ui.add(component);
+
+    queue.setVisible(component, true);
+    queue.setVisible(component, false);
+    queue.setVisible(component, true);
+
+    List<PendingJavaScriptInvocation> changes = invocationsOf(ui.respond(), "setTooltipsVisibility");
+    assertEquals(1, changes.size());
+    assertEquals("[true]", ((JsonArray) changes.get(0).getInvocation().getParameters().get(1)).toJson());
+  }
+
+  @Test
+  public void closeAllSupersedesVisibilityChanges() {
+    TestComponent component = new TestComponent();
+    ui.add(component);
+
+    queue.setVisible(component, true);
+    queue.closeAll();
+
+    List<PendingJavaScriptInvocation> invocations = ui.respond();
+    assertEquals(1, invocations.size());
+    assertEquals(1, invocationsOf(invocations, "closeAllTooltips").size());
+  }
+
+  @Test
+  public void detachedComponentsAreNotRegistered() {
+    TooltipStateData state = createState(new TestComponent(), "text");
+    queue.register(state);
+
+    assertTrue(ui.respond().isEmpty());
+    assertNull(state.getClientConfig());
+  }
+}
@@ -0,0 +1,584 @@
+package dev.mett.vaadin.tooltip;
+
+import static dev.mett.vaadin.tooltip.TestUI.invocationsOf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.internal.PendingJavaScriptInvocation;
+import com.vaadin.flow.server.VaadinSession;
+import dev.mett.vaadin.tooltip.TestUI.TestComponent;
+import dev.mett.vaadin.tooltip.TestUI.TestLayout;
+import dev.mett.vaadin.tooltip.config.ImmutableTooltipConfiguration;
+import dev.mett.vaadin.tooltip.config.TC_PLACEMENT;
+import dev.mett.vaadin.tooltip.config.TooltipConfiguration;
+import dev.mett.vaadin.tooltip.exception.TooltipsAlreadyInitializedException;
+import dev.mett.vaadin.tooltip.util.TooltipsJsProvider;
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+public class TooltipsTest {
+
+  private final TestUI ui = new TestUI();
+  private final Tooltips tooltips = Tooltips.get(ui);
+
+  private TestComponent addComponent() {
+    TestComponent component = new TestComponent();
+    ui.add(component);
+    return component;
+  }
+
+  private static JsonArray parameter(PendingJavaScriptInvocation invocation, int index) {
+    List<Object> parameters = invocation.getInvocation().getParameters();
+    return (JsonArray) parameters.get(index < 0 ? parameters.size() + index : index);
+  }
+
+  private static JsonArray tippyIds(int... ids) {
+    JsonArray tippyIds = Json.createArray();
+    for (int id : ids) {
+      tippyIds.set(tippyIds.length(), id);
+    }
+    return tippyIds;
+  }
+
+  private static long providersOf(TestUI ui) {
+    return ui.getChildren().filter(TooltipsJsProvider.class::isInstance).count();
+  }
+
+  /* *** INITIALIZATION *** */
+
+  @Test
+  public void tooltipsAreInitializedOnFirstUse() {
+    TestUI otherUI = new TestUI();
+    assertEquals(0, providersOf(otherUI));
+
+    Tooltips otherTooltips = Tooltips.get(otherUI);
+    assertSame(otherTooltips, Tooltips.get(otherUI));
+    assertNotSame(tooltips, otherTooltips);
+    assertEquals(1, providersOf(otherUI));
+
+    assertNull(Tooltips.get(null));
+  }
+
+  @Test
+  public void initializationRequiresTheLock() {
+    UI unlockedUI = new UI();
+    unlockedUI.getInternals().setSession(new VaadinSession(null) {
+      @Override
+      public boolean hasLock() {
+        return false;
+      }
+    });
+
+    assertThrows(IllegalStateException.class, () -> Tooltips.get(unlockedUI));
+    assertEquals(0, unlockedUI.getChildren().count());
+  }
+
+  @Test
+  public void tooltipsAreInitializedOncePerUI() {
+    assertThrows(TooltipsAlreadyInitializedException.class, () -> new Tooltips(ui));
+    assertEquals(1, providersOf(ui));
+  }
+
+  @Test
+  public void tooltipsAreRegisteredWithTheUIOfTheirComponent() {
+    TestUI otherUI = new TestUI();
+    TestComponent component = new TestComponent();
+    otherUI.add(component);
+
+    tooltips.setTooltip(component, "text");
+
+    assertTrue(tooltips.getComponentsWithTooltip().isEmpty());
+    assertEquals(Collections.singletonList(component), Tooltips.get(otherUI).getComponentsWithTooltip());
+  }
+
+  /* *** BULK OPERATIONS *** */
+
+  @Test
+  public void tooltipsAreSetUsingASingleCall() {
+    Map<Component, TooltipConfiguration> configurations = new LinkedHashMap<>();
+    for (int i = 0; i < 3; i++) {
+      configurations.put(addComponent(), new TooltipConfiguration("text " + i));
+    }
+
+    tooltips.setTooltips(configurations);
+
+    List<PendingJavaScriptInvocation> registrations = invocationsOf(ui.respond(), "setTooltipsToElements");
+    assertEquals(1, registrations.size());
+    List<Object> parameters = registrations.get(0).getInvocation().getParameters();
+    assertEquals(
+        configurations.keySet().stream().map(Component::getElement).collect(Collectors.toList()),
+        parameters.subList(0, parameters.size() - 2));
+    JsonArray configs = parameter(registrations.get(0), -2);
+    for (int i = 0; i < 3; i++) {
+      assertEquals("text " + i, configs.getObject(i).getString("content"));
+    }
+
+    // the returned ids are applied in the order of the elements
+    registrations.get(0).complete(tippyIds(7, 8, 9));
+    tooltips.removeTooltips(configurations.keySet());
+
+    List<PendingJavaScriptInvocation> removals = invocationsOf(ui.respond(), "removeTooltips");
+    assertEquals(1, removals.size());
+    assertEquals("[7,8,9]", parameter(removals.get(0), 1).toJson());
+    assertEquals(
+        configurations.keySet().stream().map(TooltipsTest::frontendId).collect(Collectors.toList()),
+        Arrays.asList(
+            parameter(removals.get(0), 0).getString(0),
+            parameter(removals.get(0), 0).getString(1),
+            parameter(removals.get(0), 0).getString(2)));
+  }
+
+  /* *** CONFIG *** */
+
+  @Test
+  public void sharedConfigurationsAreCopiedOnWrite() {
+    ImmutableTooltipConfiguration shared = ImmutableTooltipConfiguration.of(new TooltipConfiguration("shared"));
+    TooltipStateData first = new TooltipStateData(shared, 1, new WeakReference<>(addComponent()));
+    TooltipStateData second = new TooltipStateData(shared, 2, new WeakReference<>(addComponent()));
+    assertSame(first.getTooltipConfig(), second.getTooltipConfig());
+
+    TooltipConfiguration writable = first.getWritableTooltipConfig();
+    assertNotSame(shared, writable);
+    assertFalse(writable instanceof ImmutableTooltipConfiguration);
+    assertSame(writable, first.getWritableTooltipConfig());
+
+    writable.setContent("changed");
+    assertSame(shared, second.getTooltipConfig());
+    assertEquals("shared", shared.getContent());
+  }
+
+  @Test
+  public void changingASharedConfigurationOnlyAffectsOneComponent() {
+    ImmutableTooltipConfiguration shared = ImmutableTooltipConfiguration.of(new TooltipConfiguration("shared"));
+    TestComponent first = addComponent();
+    TestComponent second = addComponent();
+    tooltips.setTooltip(first, shared);
+    tooltips.setTooltip(second, shared);
+
+    tooltips.setTooltip(first, "changed");
+    tooltips.getConfiguration(first).ifPresent(config -> config.setPlacement(TC_PLACEMENT.BOTTOM));
+
+    assertEquals("shared", shared.getContent());
+    assertEquals("changed", tooltips.getConfiguration(first).map(TooltipConfiguration::getContent).orElse(null));
+    assertEquals(TC_PLACEMENT.BOTTOM, tooltips.getConfiguration(first).map(TooltipConfiguration::getPlacement).orElse(null));
+    assertEquals("shared", tooltips.getConfiguration(second).map(TooltipConfiguration::getContent).orElse(null));
+    assertNull(tooltips.getConfiguration(second).map(TooltipConfiguration::getPlacement).orElse(null));
+  }
+
+  @Test
+  public void unchangedMultiLineTooltipsAreNotUpdated() {
+    TestComponent component = addComponent();
+    tooltips.setTooltip(component, "a\nb");
+    invocationsOf(ui.respond(), "setTooltipsToElements").get(0).complete(tippyIds(1));
+
+    tooltips.setTooltip(component, "a\nb");
+    assertTrue(invocationsOf(ui.respond(), "updateTooltips").isEmpty());
+
+    tooltips.setTooltip(component, "a\nc");
+    PendingJavaScriptInvocation update = invocationsOf(ui.respond(), "updateTooltips").get(0);
+
+    // the frontend state is unknown after a failure, hence only the server side change detection prevents an update
+    update.completeExceptionally(Json.create("error"));
+    tooltips.setTooltip(component, "a\nc");
+    assertTrue(invocationsOf(ui.respond(), "updateTooltips").isEmpty());
+  }
+
+  /* *** TEMPLATES *** */
+
+  @Test
+  public void templatesAreTransferredOnce() {
+    TooltipConfiguration template = new TooltipConfiguration();
+    template.setPlacement(TC_PLACEMENT.BOTTOM);
+    tooltips.registerTemplate("bottom", template);
+
+    tooltips.setTooltipFromTemplate(addComponent(), "bottom", "first");
+    tooltips.setTooltipFromTemplate(addComponent(), "bottom", "second");
+
+    List<PendingJavaScriptInvocation> invocations = ui.respond();
+    assertEquals(1, invocationsOf(invocations, "registerTemplates").size());
+
+    // only the properties that differ from the template are sent
+    JsonArray configs = parameter(invocationsOf(invocations, "setTooltipsToElements").get(0), -2);
+    assertEquals("{\"content\":\"first\",\"template\":\"bottom\"}", configs.get(0).toJson());
+    assertEquals("{\"content\":\"second\",\"template\":\"bottom\"}", configs.get(1).toJson());
+
+    tooltips.setTooltipFromTemplate(addComponent(), "bottom", "third");
+    assertTrue(invocationsOf(ui.respond(), "registerTemplates").isEmpty());
+  }
+
+  @Test
+  public void unknownTemplate() {
+    assertThrows(IllegalArgumentException.class,
+        () -> tooltips.setTooltipFromTemplate(addComponent(), "unknown", "text"));
+  }
+
+  /* *** LAZY CONTENT *** */
+
+  private static String frontendId(Component component) {
+    return component.getElement().getAttribute("tt4v");
+  }
+
+  @Test
+  public void lazyContentIsAnnounced() {
+    tooltips.setTooltip(addComponent(), component -> "lazy text");
+
+    JsonArray configs = parameter(invocationsOf(ui.respond(), "setTooltipsToElements").get(0), -2);
+    assertEquals("{\"allowHTML\":true,\"content\":\"...\",\"lazyContent\":{\"id\":1,\"prefetchDelay\":150}}",
+        configs.get(0).toJson());
+  }
+
+  @Test
+  public void lazyContentIsFetched() {
+    TestComponent component = addComponent();
+    tooltips.setTooltip(component, comp -> comp == component ? "first\nsecond" : null);
+    ui.respond();
+
+    assertEquals("first<br>second", tooltips.fetchLazyContent(frontendId(component)));
+    assertNull(tooltips.fetchLazyContent("unknown"));
+    assertNull(tooltips.fetchLazyContent("tooltip-0"));
+
+    // detached components do not provide any content
+    ui.remove(component);
+    assertNull(tooltips.fetchLazyContent(frontendId(component)));
+  }
+
+  @Test
+  public void lazyContentIsDiscarded() {
+    TestComponent component = addComponent();
+    tooltips.setTooltip(component, comp -> "lazy text");
+    tooltips.setTooltip(component, "eager text");
+    ui.respond();
+
+    assertNull(tooltips.fetchLazyContent(frontendId(component)));
+  }
+
+  /* *** DELEGATION *** */
+
+  @Test
+  public void delegatedTooltipsOnlyCarryTheirContent() {
+    TestLayout container = new TestLayout();
+    TestComponent delegated = new TestComponent();
+    TestComponent individual = new TestComponent();
+    container.add(delegated, individual);
+    ui.add(container);
+
+    tooltips.enableDelegation(container);
+    tooltips.setTooltip(delegated, "delegated text");
+    TooltipConfiguration configuration = new TooltipConfiguration("individual text");
+    configuration.setPlacement(TC_PLACEMENT.LEFT);
+    tooltips.setTooltip(individual, configuration);
+
+    List<PendingJavaScriptInvocation> invocations = ui.respond();
+    assertEquals(1, invocationsOf(invocations, "enableDelegation").size());
+    assertEquals("delegated text", delegated.getElement().getAttribute(TooltipDelegation.CONTENT_ATTRIBUTE));
+
+    // tooltips with another configuration are registered individually
+    JsonArray configs = parameter(invocationsOf(invocations, "setTooltipsToElements").get(0), -2);
+    assertEquals(1, configs.length());
+    assertEquals("individual text", configs.getObject(0).getString("content"));
+  }
+
+  @Test
+  public void disablingDelegationRegistersTheTooltipsIndividually() {
+    TestLayout container = new TestLayout();
+    TestComponent component = new TestComponent();
+    container.add(component);
+    ui.add(container);
+    tooltips.enableDelegation(container);
+    tooltips.setTooltip(component, "text");
+    ui.respond();
+
+    tooltips.disableDelegation(container);
+
+    List<PendingJavaScriptInvocation> invocations = ui.respond();
+    assertEquals(1, invocationsOf(invocations, "disableDelegation").size());
+    assertNull(component.getElement().getAttribute(TooltipDelegation.CONTENT_ATTRIBUTE));
+    assertEquals("text", parameter(invocationsOf(invocations, "updateTooltips").get(0), -2).getObject(0).getString("content"));
+  }
+
+  @Test
+  public void lightweightTooltipsAreNotDelegatedLater() {
+    TestLayout container = new TestLayout();
+    TestComponent component = new TestComponent();
+    container.add(component);
+    ui.add(container);
+    tooltips.setTooltip(component, "text");
+    // registered without a tippy instance
+    JsonArray tippyIds = Json.createArray();
+    tippyIds.set(0, Json.createNull());
+    invocationsOf(ui.respond(), "setTooltipsToElements").get(0).complete(tippyIds);
+
+    tooltips.enableDelegation(container);
+    tooltips.setTooltip(component, "updated text");
+
+    List<PendingJavaScriptInvocation> invocations = ui.respond();
+    assertNull(component.getElement().getAttribute(TooltipDelegation.CONTENT_ATTRIBUTE));
+    JsonArray configs = parameter(invocationsOf(invocations, "updateTooltips").get(0), -2);
+    assertEquals("updated text", configs.getObject(0).getString("content"));
+  }
+
+  /* *** GROUPS *** */
+
+  @Test
+  public void groupsShareOnePopperElement() {
+    TestComponent first = addComponent();
+    TestComponent second = addComponent();
+    tooltips.setTooltip(first, "first");
+    tooltips.setTooltip(second, "second");
+    TooltipGroup group = tooltips.createGroup(first, second);
+
+    List<PendingJavaScriptInvocation> invocations = ui.respond();
+    invocationsOf(invocations, "setTooltipsToElements").get(0).complete(tippyIds(1, 2));
+    List<PendingJavaScriptInvocation> groupUpdates = invocationsOf(invocations, "setTooltipGroup");
+    assertEquals(1, groupUpdates.size());
+    assertEquals(Arrays.asList(first.getElement(), second.getElement()),
+        groupUpdates.get(0).getInvocation().getParameters().subList(0, 2));
+
+    // the group is updated once a member leaves it
+    tooltips.removeTooltip(first);
+    groupUpdates = invocationsOf(ui.respond(), "setTooltipGroup");
+    assertEquals(1, groupUpdates.size());
+    assertEquals(second.getElement(), groupUpdates.get(0).getInvocation().getParameters().get(0));
+    assertEquals(Collections.singletonList(second), group.getMembers());
+  }
+
+  @Test
+  public void removedGroupsAreDissolved() {
+    TestComponent member = addComponent();
+    tooltips.setTooltip(member, "text");
+    TooltipGroup group = tooltips.createGroup(member);
+    ui.respond();
+
+    tooltips.removeGroup(group);
+
+    List<PendingJavaScriptInvocation> invocations = ui.respond();
+    assertEquals(1, invocationsOf(invocations, "removeTooltipGroups").size());
+    assertTrue(invocationsOf(invocations, "setTooltipGroup").isEmpty());
+    assertTrue(group.getMembers().isEmpty());
+  }
+
+  /* *** REVIVAL *** */
+
+  private TestComponent reattachedComponent() {
+    TestComponent component = addComponent();
+    tooltips.setTooltip(component, "text");
+    invocationsOf(ui.respond(), "setTooltipsToElements").get(0).complete(tippyIds(1));
+
+    ui.remove(component);
+    ui.respond();
+    ui.add(component);
+    return component;
+  }
+
+  @Test
+  public void reattachedTooltipsAreRevived() {
+    reattachedComponent();
+
+    List<PendingJavaScriptInvocation> invocations = ui.respond();
+    assertTrue(invocationsOf(invocations, "setTooltipsToElements").isEmpty());
+    PendingJavaScriptInvocation revival = invocationsOf(invocations, "reviveTooltips").get(0);
+    assertEquals(1, parameter(revival, -1).length());
+
+    revival.complete(tippyIds(2));
+    assertTrue(ui.respond().isEmpty());
+  }
+
+  @Test
+  public void tooltipsUnknownToTheFrontendAreRegisteredAgain() {
+    reattachedComponent();
+
+    JsonArray unknown = Json.createArray();
+    unknown.set(0, false);
+    invocationsOf(ui.respond(), "reviveTooltips").get(0).complete(unknown);
+
+    PendingJavaScriptInvocation registration = invocationsOf(ui.respond(), "setTooltipsToElements").get(0);
+    assertEquals("text", parameter(registration, -2).getObject(0).getString("content"));
+  }
+
+  /* *** OPEN STATES *** */
+
+  private TestComponent registeredComponent() {
+    TestComponent component = addComponent();
+    tooltips.setTooltip(component, "text");
+    invocationsOf(ui.respond(), "setTooltipsToElements").get(0).complete(tippyIds(1));
+    return component;
+  }
+
+  @Test
+  public void openTooltipsAreClosedUponDetach() {
+    TestComponent component = registeredComponent();
+    tooltips.applyOpenStates(Collections.singletonList(frontendId(component)), Collections.emptyList());
+
+    ui.remove(component);
+
+    PendingJavaScriptInvocation close = invocationsOf(ui.respond(), "closeTooltipsForced").get(0);
+    assertEquals("[1]", parameter(close, 0).toJson());
+  }
+
+  @Test
+  public void closedTooltipsAreNotClosedAgain() {
+    TestComponent component = registeredComponent();
+    List<String> frontendIds = Collections.singletonList(frontendId(component));
+    tooltips.applyOpenStates(frontendIds, Collections.emptyList());
+    tooltips.applyOpenStates(Collections.emptyList(), frontendIds);
+
+    ui.remove(component);
+
+    assertTrue(invocationsOf(ui.respond(), "closeTooltipsForced").isEmpty());
+  }
+
+  @Test
+  public void unknownTooltipsAreIgnored() {
+    TestComponent component = registeredComponent();
+    String frontendId = frontendId(component);
+    tooltips.removeTooltip(component);
+    ui.respond().forEach(invocation -> invocation.complete(Json.createNull()));
+
+    tooltips.applyOpenStates(Arrays.asList(frontendId, "tooltip-" + Long.MAX_VALUE, "unknown"), Collections.emptyList());
+
+    assertTrue(ui.respond().isEmpty());
+  }
+
+  /* *** SUBTREES *** */
+
+  @Test
+  public void tooltipsWithinASubtreeAreRemovedAtOnce() {
+    TestLayout root = new TestLayout();
+    TestComponent first = new TestComponent();
+    TestComponent second = new TestComponent();
+    root.add(first, second);
+    ui.add(root);
+    tooltips.setTooltip(first, "first");
+    tooltips.setTooltip(second, "second");
+    invocationsOf(ui.respond(), "setTooltipsToElements").get(0).complete(tippyIds(1, 2));
+
+    tooltips.removeTooltipsWithin(root);
+
+    List<PendingJavaScriptInvocation> invocations = ui.respond();
+    assertTrue(invocationsOf(invocations, "removeTooltips").isEmpty());
+    PendingJavaScriptInvocation removal = invocationsOf(invocations, "removeTooltipsWithin").get(0);
+    assertEquals(Collections.singletonList(root.getElement()), removal.getInvocation().getParameters());
+
+    removal.complete(Json.createNull());
+    assertTrue(tooltips.getComponentsWithTooltip().isEmpty());
+    assertNull(frontendId(first));
+    assertNull(frontendId(second));
+  }
+
+  @Test
+  public void subtreeRemovalsSupersedeUpdates() {
+    TestLayout root = new TestLayout();
+    TestComponent component = new TestComponent();
+    root.add(component);
+    ui.add(root);
+    tooltips.setTooltip(component, "text");
+    invocationsOf(ui.respond(), "setTooltipsToElements").get(0).complete(tippyIds(1));
+
+    tooltips.removeTooltipsWithin(root);
+    tooltips.setTooltip(component, "same round-trip");
+    List<PendingJavaScriptInvocation> invocations = ui.respond();
+    assertTrue(invocationsOf(invocations, "updateTooltips").isEmpty());
+
+    // the removal is still pending on the client
+    tooltips.setTooltip(component, "next round-trip");
+    assertTrue(invocationsOf(ui.respond(), "updateTooltips").isEmpty());
+
+    invocationsOf(invocations, "removeTooltipsWithin").get(0).complete(Json.createNull());
+    assertTrue(tooltips.getComponentsWithTooltip().isEmpty());
+  }
+
+  @Test
+  public void tooltipsWithinASubtreeAreClosedAtOnce() {
+    TestLayout root = new TestLayout();
+    ui.add(root);
+
+    tooltips.closeTooltipsWithin(root);
+    tooltips.closeTooltipsWithin(root);
+
+    List<PendingJavaScriptInvocation> closes = invocationsOf(ui.respond(), "closeTooltipsWithin");
+    assertEquals(1, closes.size());
+    assertEquals(Collections.singletonList(root.getElement()), closes.get(0).getInvocation().getParameters());
+  }
+
+  /* *** DECLARATIVE *** */
+
+  @Test
+  public void declaredTooltipsAreTransferredAsAttributes() {
+    tooltips.setDeclarative(true);
+    tooltips.setDeclarative(true);
+    TestComponent declared = addComponent();
+    TestComponent lazy = addComponent();
+    tooltips.setTooltip(declared, "declared text");
+    tooltips.setTooltip(lazy, component -> "lazy text");
+
+    List<PendingJavaScriptInvocation> invocations = ui.respond();
+    assertEquals(1, invocationsOf(invocations, "enableDeclarativeTooltips").size());
+    assertEquals("declared text", declared.getElement().getAttribute(TooltipDeclaration.CONTENT_ATTRIBUTE));
+
+    // the element only refers to the configuration registered by the server
+    PendingJavaScriptInvocation registration = invocationsOf(invocations, "registerDeclaredConfigs").get(0);
+    String configKey = declared.getElement().getAttribute(TooltipDeclaration.CONFIG_ATTRIBUTE);
+    assertEquals(configKey, parameter(registration, 0).getString(0));
+    assertEquals("[{\"allowHTML\":true}]", parameter(registration, 1).toJson());
+
+    // lazily fetched contents still require a registration using JavaScript
+    List<Object> parameters = invocationsOf(invocations, "setTooltipsToElements").get(0).getInvocation().getParameters();
+    assertEquals(Collections.singletonList(lazy.getElement()), parameters.subList(0, parameters.size() - 2));
+  }
+
+  @Test
+  public void declaredConfigsAreTransferredOnce() {
+    tooltips.setDeclarative(true);
+    TestComponent first = addComponent();
+    TestComponent second = addComponent();
+    tooltips.setTooltip(first, "first");
+    tooltips.setTooltip(second, "second");
+    assertEquals(1, invocationsOf(ui.respond(), "registerDeclaredConfigs").size());
+
+    TestComponent third = addComponent();
+    tooltips.setTooltip(third, "third");
+    assertTrue(invocationsOf(ui.respond(), "registerDeclaredConfigs").isEmpty());
+
+    String configKey = first.getElement().getAttribute(TooltipDeclaration.CONFIG_ATTRIBUTE);
+    assertEquals(configKey, second.getElement().getAttribute(TooltipDeclaration.CONFIG_ATTRIBUTE));
+    assertEquals(configKey, third.getElement().getAttribute(TooltipDeclaration.CONFIG_ATTRIBUTE));
+    // keys of other UIs cannot be predicted
+    TestUI otherUI = new TestUI();
+    TestComponent other = new TestComponent();
+    otherUI.add(other);
+    Tooltips.get(otherUI).setDeclarative(true);
+    Tooltips.get(otherUI).setTooltip(other, "other");
+    otherUI.respond();
+    assertNotEquals(configKey, other.getElement().getAttribute(TooltipDeclaration.CONFIG_ATTRIBUTE));
+  }
+
+  @Test
+  public void removedDeclaredTooltipsLoseTheirAttributes() {
+    tooltips.setDeclarative(true);
+    TestComponent component = addComponent();
+    tooltips.setTooltip(component, "text");
+    ui.respond();
+
+    tooltips.removeTooltip(component);
+
+    assertTrue(ui.respond().isEmpty());
+    assertNull(component.getElement().getAttribute(TooltipDeclaration.CONTENT_ATTRIBUTE));
+    assertNull(component.getElement().getAttribute(TooltipDeclaration.CONFIG_ATTRIBUTE));
+  }
+}
@@ -0,0 +1,141 @@
+package dev.mett.vaadin.tooltip.unitTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import dev.mett.vaadin.tooltip.config.ImmutableTooltipConfiguration;
+import dev.mett.vaadin.tooltip.config.TC_PLACEMENT;
+import dev.mett.vaadin.tooltip.config.TooltipConfiguration;
+import dev.mett.vaadin.tooltip.config.TooltipContentTransformer;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import org.junit.jupiter.api.Test;
+
+public class ImmutableTooltipConfigurationTest {
+
+  @Test
+  public void interning() {
+    ImmutableTooltipConfiguration first = ImmutableTooltipConfiguration.builder()
+        .content("test text")
+        .placement(TC_PLACEMENT.BOTTOM)
+        .delay(100, 200)
+        .build();
+
+    TooltipConfiguration mutable = new TooltipConfiguration("test text");
+    mutable.setPlacement(TC_PLACEMENT.BOTTOM);
+    mutable.setDelay(100, 200);
+
+    assertSame(first, ImmutableTooltipConfiguration.of(mutable));
+  }
+
+  @Test
+  public void internedByContentTransformer() {
+    ImmutableTooltipConfiguration newlines = ImmutableTooltipConfiguration.builder().build();
+    ImmutableTooltipConfiguration escaping = ImmutableTooltipConfiguration.builder()
+        .contentTransformer(TooltipContentTransformer.ESCAPE_HTML)
+        .build();
+
+    // both have the same JSON representation
+    assertTrue(newlines.isEquivalentTo(escaping));
+    assertNotSame(newlines, escaping);
+    assertSame(TooltipContentTransformer.ESCAPE_HTML, escaping.getContentTransformer());
+
+    TooltipConfiguration copy = escaping.clone();
+    copy.setContent("<b>");
+    assertEquals("&lt;b&gt;", copy.getRenderedContent());
+  }
+
+  @Test
+  public void structuralEquivalence() {
+    TooltipConfiguration first = new TooltipConfiguration("test text");
+    first.setOffset(1, 2);
+    first.setDelay(100, 200);
+
+    TooltipConfiguration second = new TooltipConfiguration("test text");
+    second.setOffset(1, 2);
+    second.setDelay(100, 200);
+
+    assertTrue(first.isEquivalentTo(second));
+    assertTrue(ImmutableTooltipConfiguration.of(first).isEquivalentTo(second));
+  }
+
+  @Test
+  public void immutability() {
+    ImmutableTooltipConfiguration config = ImmutableTooltipConfiguration.builder()
+        .content("test text")
+        .build();
+
+    assertThrows(UnsupportedOperationException.class, () -> config.setContent("other text"));
+
+    TooltipConfiguration copy = config.clone();
+    copy.setContent("other text");
+    assertNotSame(config, copy);
+    assertEquals("test text", config.getContent());
+  }
+
+  @Test
+  public void immutableValues() {
+    ImmutableTooltipConfiguration config = ImmutableTooltipConfiguration.builder()
+        .content("immutable values")
+        .offset(1, 2)
+        .delay(100, 200)
+        .touch("hold", 500)
+        .addPopperOption("strategy", "fixed")
+        .build();
+
+    config.getOffset()[0] = 5;
+    ((Object[]) config.getDelay())[0] = 0;
+    ((Object[]) config.getTouch())[1] = 0;
+    assertThrows(UnsupportedOperationException.class, () -> config.getPopperOptions().put("strategy", "absolute"));
+
+    assertEquals(1, config.getOffset()[0]);
+    assertEquals(100, ((Object[]) config.getDelay())[0]);
+    assertEquals(500, ((Object[]) config.getTouch())[1]);
+    assertEquals(
+        "{\"allowHTML\":true,\"content\":\"immutable values\",\"delay\":[100,200],\"offset\":[1,2],"
+            + "\"popperOptions\":{\"strategy\":\"fixed\"},\"touch\":[\"hold\",500]}",
+        config.clone().toJsonObject().toJson());
+  }
+
+  @Test
+  public void equalityIsSymmetric() {
+    TooltipConfiguration mutable = new TooltipConfiguration("text");
+    ImmutableTooltipConfiguration immutable = ImmutableTooltipConfiguration.of(mutable);
+
+    assertFalse(mutable.equals(immutable));
+    assertFalse(immutable.equals(mutable));
+    assertTrue(mutable.isEquivalentTo(immutable));
+  }
+
+  @Test
+  public void deserializedConfigurationsAreInterned() throws Exception {
+    ImmutableTooltipConfiguration builtIn = ImmutableTooltipConfiguration.builder().content("text").build();
+    assertSame(builtIn, roundTrip(builtIn));
+
+    // a custom transformer is a new instance after deserialization
+    ImmutableTooltipConfiguration custom = ImmutableTooltipConfiguration.builder()
+        .content("text")
+        .contentTransformer(TooltipContentTransformer.memoized(String::trim))
+        .build();
+    ImmutableTooltipConfiguration copy = roundTrip(custom);
+
+    assertNotSame(custom, copy);
+    assertSame(copy, ImmutableTooltipConfiguration.builder(copy).build());
+  }
+
+  private static ImmutableTooltipConfiguration roundTrip(ImmutableTooltipConfiguration configuration) throws Exception {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(configuration);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      return (ImmutableTooltipConfiguration) in.readObject();
+    }
+  }
+}
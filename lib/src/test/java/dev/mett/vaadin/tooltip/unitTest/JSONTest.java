@@ -1,13 +1,22 @@
 package dev.mett.vaadin.tooltip.unitTest;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import dev.mett.vaadin.tooltip.config.TC_FOLLOW_CURSOR;
 import dev.mett.vaadin.tooltip.config.TC_HIDE_ON_CLICK;
+import dev.mett.vaadin.tooltip.config.TC_PLACEMENT;
 import dev.mett.vaadin.tooltip.config.TooltipConfiguration;
+import dev.mett.vaadin.tooltip.config.TooltipConfigurationJsonSerializer;
+import dev.mett.vaadin.tooltip.config.TooltipContentTransformer;
 import elemental.json.JsonObject;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import lombok.RequiredArgsConstructor;
 import org.junit.jupiter.api.Test;
 
@@ -38,6 +47,146 @@ public class JSONTest {
   }
 
 
+  @RequiredArgsConstructor
+  private static class Bean {
+
+    private final String name;
+    private final int size;
+  }
+
+  private static class ExtendedBean extends Bean {
+
+    private final String ignoredField = "ignored";
+
+    ExtendedBean(String name, int size) {
+      super(name, size);
+    }
+  }
+
+  private static class ExtendedTooltipConfiguration extends TooltipConfiguration {
+
+    private final String ignoredField = "ignored";
+
+    ExtendedTooltipConfiguration(String text) {
+      super(text);
+    }
+  }
+
+  @Test
+  public void beanConversion() {
+    // the field accessors are computed once per class, the values are read from every instance
+    assertEquals("{\"name\":\"first\",\"size\":1}", TooltipConfigurationJsonSerializer.toJson(new Bean("first", 1)).toJson());
+    assertEquals("{\"name\":\"second\",\"size\":2}", TooltipConfigurationJsonSerializer.toJson(new Bean("second", 2)).toJson());
+  }
+
+  @Test
+  public void subclassConversion() {
+    // only the fields of the topmost class get serialized
+    assertEquals("{\"name\":\"third\",\"size\":3}",
+        TooltipConfigurationJsonSerializer.toJson(new ExtendedBean("third", 3)).toJson());
+
+    TooltipConfiguration config = new ExtendedTooltipConfiguration("test text");
+    assertEquals("{\"allowHTML\":true,\"content\":\"test text\"}", config.toJsonObject().toJson());
+  }
+
+  @Test
+  public void cachedConversion() {
+    TooltipConfiguration config = new TooltipConfiguration("test text");
+    String json = config.toJson();
+    assertSame(json, config.toJson());
+
+    config.setArrow(true);
+    assertNotSame(json, config.toJson());
+    assertEquals("{\"allowHTML\":true,\"arrow\":true,\"content\":\"test text\"}", config.toJson());
+  }
+
+  @Test
+  public void convertedObjectsAreCopies() {
+    TooltipConfiguration config = new TooltipConfiguration("test text");
+    JsonObject json = config.toJsonObject();
+    assertNotSame(json, config.toJsonObject());
+
+    json.put("arrow", true);
+    assertEquals("{\"allowHTML\":true,\"content\":\"test text\"}", config.toJsonObject().toJson());
+  }
+
+  @Test
+  public void popperOptionsAreReadOnly() {
+    TooltipConfiguration config = new TooltipConfiguration("test text");
+    config.addPopperOption("strategy", "fixed");
+    String json = config.toJson();
+
+    assertThrows(UnsupportedOperationException.class, () -> config.getPopperOptions().put("strategy", "absolute"));
+    config.addPopperOption("strategy", "absolute");
+    assertNotSame(json, config.toJson());
+    assertTrue(config.toJson().contains("absolute"));
+  }
+
+  @Test
+  public void copyConversion() {
+    TooltipConfiguration config = new TooltipConfiguration("test text");
+    config.setOffset(1, 2);
+    config.addPopperOption("strategy", "fixed");
+
+    TooltipConfiguration copy = config.clone();
+    assertEquals(config.toJsonObject().toJson(), copy.toJsonObject().toJson());
+
+    copy.setOffset(3, 4);
+    copy.addPopperOption("strategy", "absolute");
+    assertEquals(
+        "{\"allowHTML\":true,\"content\":\"test text\",\"offset\":[1,2],\"popperOptions\":{\"strategy\":\"fixed\"}}",
+        config.toJsonObject().toJson());
+  }
+
+  @Test
+  public void unsetConversion() {
+    TooltipConfiguration config = new TooltipConfiguration("test text");
+    config.setZIndex(5);
+    config.setArrow(true);
+    config.setPlacement(TC_PLACEMENT.LEFT);
+
+    config.setArrow(null);
+    config.setZIndex(null);
+    assertEquals("{\"allowHTML\":true,\"content\":\"test text\",\"placement\":\"left\"}", config.toJsonObject().toJson());
+    assertNull(config.getArrow());
+    assertEquals(TC_PLACEMENT.LEFT, config.getPlacement());
+  }
+
+  @Test
+  public void contentTransformation() {
+    TooltipConfiguration config = new TooltipConfiguration("a\r\nb\rc\nd");
+    assertEquals("a\r\nb\rc\nd", config.getContent());
+    assertEquals("a<br>b<br>c<br>d", config.getRenderedContent());
+
+    config.setContentTransformer(TooltipContentTransformer.ESCAPE_HTML);
+    config.setContent("<b>\"x\" & 'y'</b>\n");
+    assertEquals("{\"allowHTML\":true,\"content\":\"&lt;b&gt;&quot;x&quot; &amp; &#39;y&#39;&lt;/b&gt;<br>\"}",
+        config.toJsonObject().toJson());
+
+    AtomicInteger transformations = new AtomicInteger();
+    TooltipContentTransformer memoized = TooltipContentTransformer.memoized(content -> {
+      transformations.incrementAndGet();
+      return content.toUpperCase();
+    });
+    config.setContentTransformer(memoized);
+    assertEquals("<B>\"X\" & 'Y'</B>\n", config.getRenderedContent());
+    assertEquals("<B>\"X\" & 'Y'</B>\n", config.clone().getRenderedContent());
+    assertEquals(1, transformations.get());
+  }
+
+  @Test
+  public void diff() {
+    TooltipConfiguration previous = new TooltipConfiguration("old text");
+    previous.setArrow(true);
+
+    TooltipConfiguration current = new TooltipConfiguration("new text");
+    current.setOffset(1, 2);
+
+    JsonObject patch = TooltipConfigurationJsonSerializer.diff(previous.toJsonObject(), current.toJsonObject());
+    assertEquals("{\"content\":\"new text\",\"offset\":[1,2],\"arrow\":null}", patch.toJson());
+    assertEquals("{}", TooltipConfigurationJsonSerializer.diff(current.toJsonObject(), current.toJsonObject()).toJson());
+  }
+
   @Test
   public void popperOptions() {
     TooltipConfiguration config = new TooltipConfiguration();